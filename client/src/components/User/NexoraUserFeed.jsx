@@ -375,8 +375,13 @@ const UserFeedPage = () => {
           withCredentials: true,
         }
       );
+      const { liked, likeCount } = response.data;
       setPosts((prev) =>
-        prev.map((post) => (post.id === postId ? response.data : post))
+        prev.map((post) => {
+          if (post.id !== postId) return post;
+          const otherLikes = (post.likes || []).filter((id) => id !== user?.id);
+          return { ...post, likes: liked ? [...otherLikes, user?.id] : otherLikes, likeCount };
+        })
       );
     } catch (error) {
       console.error("Error liking post:", error);
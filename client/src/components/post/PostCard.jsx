@@ -17,6 +17,10 @@ const PostCard = memo(({ post, user, onUpdatePost, onDeletePost, onNewNotificati
   const [mediaError, setMediaError] = useState({});
   const [zoomedMedia, setZoomedMedia] = useState(null);
   const [showComments, setShowComments] = useState(false);
+  // Full comment list, newest first, paged from /comments once the section is opened
+  const [loadedComments, setLoadedComments] = useState(null);
+  const [commentsCursor, setCommentsCursor] = useState(null);
+  const [loadingComments, setLoadingComments] = useState(false);
   const commentInputRef = useRef(null);
 
   const isOwner = user === post.userId;
@@ -25,7 +29,37 @@ const PostCard = memo(({ post, user, onUpdatePost, onDeletePost, onNewNotificati
     ? formatDistanceToNow(new Date(post.createdAt), { addSuffix: true })
     : "Unknown date";
   
-  const hasComments = post.comments && post.comments.length > 0;
+  // Posts only embed their latest comments; the rest are loaded on demand
+  const comments = loadedComments ?? (post.recentComments || []);
+  const commentCount = post.commentCount ?? comments.length;
+  const hasComments = comments.length > 0;
+
+  const fetchComments = useCallback(async (cursor) => {
+    setLoadingComments(true);
+    try {
+      const response = await axios.get(`http://localhost:5000/api/posts/${post.id}/comments`, {
+        params: { cursor: cursor || undefined, limit: 20 },
+        withCredentials: true,
+      });
+      setLoadedComments(prev => (cursor && prev ? [...prev, ...response.data.comments] : response.data.comments));
+      setCommentsCursor(response.data.nextCursor);
+    } catch (error) {
+      console.error("Error fetching comments:", error);
+      toast.error("Failed to load comments.", { position: "top-right" });
+    } finally {
+      setLoadingComments(false);
+    }
+  }, [post.id]);
+
+  // Applies a change to both the loaded list and the post's preview, and adjusts the count
+  const withComments = (change, countDelta = 0) => {
+    if (loadedComments) setLoadedComments(change(loadedComments));
+    return {
+      ...post,
+      recentComments: change(post.recentComments || []),
+      commentCount: commentCount + countDelta,
+    };
+  };
 
   const handleLike = async () => {
     if (loading.like) return;
@@ -41,7 +75,10 @@ const PostCard = memo(({ post, user, onUpdatePost, onDeletePost, onNewNotificati
 
     try {
       const response = await axios.post(`http://localhost:5000/api/posts/${post.id}/like`, {}, { withCredentials: true });
-      onUpdatePost(response.data.post);
+      // The like endpoint returns only the new like state, not the whole post
+      const { liked, likeCount } = response.data;
+      const otherLikes = (post.likes || []).filter(id => id !== user);
+      onUpdatePost({ ...post, likes: liked ? [...otherLikes, user] : otherLikes, likeCount });
       if (onNewNotification && !(post.likes || []).includes(user)) {
         onNewNotification();
       }
@@ -86,6 +123,9 @@ const PostCard = memo(({ post, user, onUpdatePost, onDeletePost, onNewNotificati
 
   const handleCommentToggle = () => {
     setShowComments(!showComments);
+    if (!showComments && loadedComments === null && commentCount > (post.recentComments || []).length) {
+      fetchComments(null);
+    }
     if (!showComments && commentInputRef.current) {
       setTimeout(() => {
         commentInputRef.current.focus();
@@ -105,7 +145,8 @@ const PostCard = memo(({ post, user, onUpdatePost, onDeletePost, onNewNotificati
       text: commentText,
       createdAt: new Date().toISOString(),
     };
-    const optimisticPost = { ...post, comments: [...(post.comments || []), newComment] };
+    const previousComments = loadedComments;
+    const optimisticPost = withComments(list => [newComment, ...list], 1);
     onUpdatePost(optimisticPost);
     setCommentText("");
 
@@ -115,10 +156,16 @@ const PostCard = memo(({ post, user, onUpdatePost, onDeletePost, onNewNotificati
         { comment: commentText },
         { withCredentials: true }
       );
-      onUpdatePost(response.data.post);
+      const savedPost = response.data.post;
+      const saved = (savedPost.recentComments || []).find(c => c.userId === user && c.text === newComment.text);
+      if (previousComments) {
+        setLoadedComments([saved || newComment, ...previousComments]);
+      }
+      onUpdatePost(savedPost);
       if (onNewNotification) onNewNotification();
     } catch (error) {
       console.error("Error adding comment:", error);
+      setLoadedComments(previousComments);
       onUpdatePost(post);
       toast.error("Failed to add comment.", { position: "top-right" });
     } finally {
@@ -135,10 +182,10 @@ const PostCard = memo(({ post, user, onUpdatePost, onDeletePost, onNewNotificati
     if (!editedCommentText.trim() || loading.comment) return;
     setLoading(prev => ({ ...prev, comment: true }));
 
-    const updatedComments = (post.comments || []).map(c =>
+    const previousComments = loadedComments;
+    const optimisticPost = withComments(list => list.map(c =>
       c.id === commentId ? { ...c, text: editedCommentText } : c
-    );
-    const optimisticPost = { ...post, comments: updatedComments };
+    ));
     onUpdatePost(optimisticPost);
 
     try {
@@ -152,6 +199,7 @@ const PostCard = memo(({ post, user, onUpdatePost, onDeletePost, onNewNotificati
       setEditedCommentText("");
     } catch (error) {
       console.error("Error updating comment:", error);
+      setLoadedComments(previousComments);
       onUpdatePost(post);
       toast.error("Failed to update comment.", { position: "top-right" });
     } finally {
@@ -163,8 +211,8 @@ const PostCard = memo(({ post, user, onUpdatePost, onDeletePost, onNewNotificati
     if (loading.comment) return;
     setLoading(prev => ({ ...prev, comment: true }));
 
-    const updatedComments = (post.comments || []).filter(c => c.id !== commentId);
-    const optimisticPost = { ...post, comments: updatedComments };
+    const previousComments = loadedComments;
+    const optimisticPost = withComments(list => list.filter(c => c.id !== commentId), -1);
     onUpdatePost(optimisticPost);
 
     try {
@@ -175,6 +223,7 @@ const PostCard = memo(({ post, user, onUpdatePost, onDeletePost, onNewNotificati
       onUpdatePost(response.data.post);
     } catch (error) {
       console.error("Error deleting comment:", error);
+      setLoadedComments(previousComments);
       onUpdatePost(post);
       toast.error("Failed to delete comment.", { position: "top-right" });
     } finally {
@@ -543,7 +592,7 @@ const PostCard = memo(({ post, user, onUpdatePost, onDeletePost, onNewNotificati
                 aria-label="Comment"
               >
                 <FaComment className="text-lg" />
-                <span className="text-sm font-medium">{(post.comments || []).length}</span>
+                <span className="text-sm font-medium">{commentCount}</span>
               </motion.button>
               
               <motion.button
@@ -577,7 +626,7 @@ const PostCard = memo(({ post, user, onUpdatePost, onDeletePost, onNewNotificati
             </div>
             
             <div className="text-sm text-gray-500">
-              {(post.likes || []).length} {(post.likes || []).length === 1 ? "like" : "likes"} • {(post.comments || []).length} {(post.comments || []).length === 1 ? "comment" : "comments"}
+              {(post.likes || []).length} {(post.likes || []).length === 1 ? "like" : "likes"} • {commentCount} {commentCount === 1 ? "comment" : "comments"}
             </div>
           </div>
 
@@ -631,7 +680,7 @@ const PostCard = memo(({ post, user, onUpdatePost, onDeletePost, onNewNotificati
                       </motion.div>
                     ) : (
                       <motion.ul className="space-y-3">
-                        {(post.comments || []).map((comment) => (
+                        {comments.map((comment) => (
                           <motion.li
                             key={comment.id}
                             initial={{ opacity: 0, y: 10 }}
@@ -718,6 +767,17 @@ const PostCard = memo(({ post, user, onUpdatePost, onDeletePost, onNewNotificati
                       </motion.ul>
                     )}
                   </AnimatePresence>
+
+                  {(loadingComments || commentsCursor || (loadedComments === null && commentCount > comments.length)) && (
+                    <button
+                      type="button"
+                      onClick={() => fetchComments(commentsCursor)}
+                      disabled={loadingComments}
+                      className="w-full mt-3 text-sm font-medium text-orange-600 hover:text-orange-700 disabled:opacity-50"
+                    >
+                      {loadingComments ? <FaSpinner className="inline animate-spin" /> : "Load more comments"}
+                    </button>
+                  )}
                 </div>
               </motion.div>
             )}
@@ -25,6 +25,8 @@ const BASE_URL = "http://localhost:5000";
 export default function ForumHomePage() {
   const { user, token, isAuthenticated } = useContext(AuthContext);
   const [questions, setQuestions] = useState([]);
+  const [nextCursor, setNextCursor] = useState(null);
+  const [loadingMore, setLoadingMore] = useState(false);
   const [savedQuestionIds, setSavedQuestionIds] = useState([]);
   const [showModal, setShowModal] = useState(false);
   const [loading, setLoading] = useState(true);
@@ -70,18 +72,22 @@ export default function ForumHomePage() {
   //   }
   // };
 
-  const fetchQuestions = async () => {
+  // Loads the first page, or the page after the given cursor and appends it
+  const fetchQuestions = async (cursor = null) => {
     try {
-      setLoading(true);
+      cursor ? setLoadingMore(true) : setLoading(true);
       const timestamp = Date.now();
+      const cursorParam = cursor ? `&cursor=${encodeURIComponent(cursor)}` : "";
       const res = await axios.get(
-        `${BASE_URL}/api/questions?sortBy=${activeFilter}&_=${timestamp}`,
+        `${BASE_URL}/api/questions?sortBy=${activeFilter}${cursorParam}&_=${timestamp}`,
         {
           headers: token ? { Authorization: `Bearer ${token}` } : {},
         }
       );
       console.log("Fetched Questions:", res.data.questions);
-      setQuestions(res.data.questions || []);
+      const page = res.data.questions || [];
+      setQuestions((prev) => (cursor ? [...prev, ...page] : page));
+      setNextCursor(res.data.nextCursor || null);
     } catch (error) {
       console.error("Error fetching questions:", error);
       toast.error("Failed to load questions", {
@@ -89,7 +95,7 @@ export default function ForumHomePage() {
         autoClose: 3000,
       });
     } finally {
-      setLoading(false);
+      cursor ? setLoadingMore(false) : setLoading(false);
     }
   };
 
@@ -453,18 +459,31 @@ export default function ForumHomePage() {
                   className="space-y-2"
                 >
                   {questions.length > 0 ? (
-                    questions.map((question, index) => (
-                      <motion.div key={question.id} variants={itemVariants}>
-                        <QuestionCard
-                          question={question}
-                          delay={index * 0.1}
-                          isSaved={savedQuestionIds.includes(question.id)}
-                          onSaveToggle={handleSaveToggle}
-                          isAuthenticated={isAuthenticated}
-                          token={token}
-                        />
-                      </motion.div>
-                    ))
+                    <>
+                      {questions.map((question, index) => (
+                        <motion.div key={question.id} variants={itemVariants}>
+                          <QuestionCard
+                            question={question}
+                            delay={index * 0.1}
+                            isSaved={savedQuestionIds.includes(question.id)}
+                            onSaveToggle={handleSaveToggle}
+                            isAuthenticated={isAuthenticated}
+                            token={token}
+                          />
+                        </motion.div>
+                      ))}
+                      {nextCursor && (
+                        <div className="flex justify-center pt-4">
+                          <button
+                            onClick={() => fetchQuestions(nextCursor)}
+                            disabled={loadingMore}
+                            className="px-4 py-2 text-sm font-medium text-orange-600 bg-white rounded-lg shadow hover:bg-orange-50 disabled:opacity-50"
+                          >
+                            {loadingMore ? "Loading..." : "Load more questions"}
+                          </button>
+                        </div>
+                      )}
+                    </>
                   ) : (
                     <motion.div
                       variants={itemVariants}
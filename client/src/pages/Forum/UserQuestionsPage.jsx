@@ -18,6 +18,8 @@ const BASE_URL = "http://localhost:5000";
 export default function UserQuestionsPage() {
   const [questions, setQuestions] = useState([]);
   const [loading, setLoading] = useState(true);
+  const [nextCursor, setNextCursor] = useState(null);
+  const [loadingMore, setLoadingMore] = useState(false);
   const [activeTag, setActiveTag] = useState("all");
   const [hoveredIndex, setHoveredIndex] = useState(null);
   const { user, token, isAuthenticated } = useContext(AuthContext);
@@ -31,26 +33,32 @@ export default function UserQuestionsPage() {
 
     console.log("User:", user);
 
-    async function fetchUserQuestions() {
-      try {
-        const timestamp = Date.now();
-        const res = await axios.get(
-          `${BASE_URL}/api/questions?authorId=${user.id}&_=${timestamp}`,
-          {
-            headers: { Authorization: `Bearer ${token}` },
-          }
-        );
-        setQuestions(res.data.questions || []);
-      } catch (err) {
-        console.error("Failed to fetch questions:", err);
-      } finally {
-        setLoading(false);
-      }
-    }
-
     fetchUserQuestions();
   }, [user, token, isAuthenticated]);
 
+  // Loads the first page, or the page after the given cursor and appends it
+  async function fetchUserQuestions(cursor = null) {
+    try {
+      if (cursor) setLoadingMore(true);
+      const timestamp = Date.now();
+      const cursorParam = cursor ? `&cursor=${encodeURIComponent(cursor)}` : "";
+      const res = await axios.get(
+        `${BASE_URL}/api/questions?authorId=${user.id}${cursorParam}&_=${timestamp}`,
+        {
+          headers: { Authorization: `Bearer ${token}` },
+        }
+      );
+      const page = res.data.questions || [];
+      setQuestions((prev) => (cursor ? [...prev, ...page] : page));
+      setNextCursor(res.data.nextCursor || null);
+    } catch (err) {
+      console.error("Failed to fetch questions:", err);
+    } finally {
+      setLoading(false);
+      setLoadingMore(false);
+    }
+  }
+
   // Filter questions by tag
   const filteredQuestions =
     activeTag === "all"
@@ -144,6 +152,19 @@ export default function UserQuestionsPage() {
           </motion.div>
         )}
 
+        {/* Load More */}
+        {!loading && nextCursor && (
+          <div className="flex justify-center mt-8">
+            <button
+              onClick={() => fetchUserQuestions(nextCursor)}
+              disabled={loadingMore}
+              className="px-6 py-2 text-white transition-all rounded-lg bg-gradient-to-r from-orange-500 to-amber-500 hover:shadow-lg disabled:opacity-50"
+            >
+              {loadingMore ? "Loading..." : "Load more"}
+            </button>
+          </div>
+        )}
+
         {/* Empty State */}
         {!loading && filteredQuestions.length === 0 && (
           <motion.div
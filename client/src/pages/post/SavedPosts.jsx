@@ -10,26 +10,32 @@ import "react-toastify/dist/ReactToastify.css";
 const SavedPosts = () => {
   const [posts, setPosts] = useState([]);
   const [loading, setLoading] = useState(true);
+  const [nextCursor, setNextCursor] = useState(null);
+  const [loadingMore, setLoadingMore] = useState(false);
   const { user, token } = useContext(AuthContext);
 
-  const fetchSavedPosts = async () => {
+  // Loads the first page, or the page after the given cursor and appends it (most recently saved first)
+  const fetchSavedPosts = async (cursor = null) => {
     console.log("Fetching saved posts with token:", token);
     try {
+      if (cursor) setLoadingMore(true);
       const response = await axios.get("http://localhost:5000/api/posts/saved", {
+        params: cursor ? { cursor } : {},
         headers: {
           Authorization: `Bearer ${token}`,
           "Cache-Control": "no-cache",
         },
       });
       console.log("Saved posts response:", response.data);
-      const postsData = response.data.map((item) => item.post);
-      const sortedPosts = postsData.sort((a, b) => new Date(b.createdAt) - new Date(a.createdAt));
-      setPosts(sortedPosts);
+      const page = (response.data.items || []).map((item) => item.post);
+      setPosts((prev) => (cursor ? [...prev, ...page] : page));
+      setNextCursor(response.data.nextCursor || null);
     } catch (error) {
       console.error("Error fetching saved posts:", error.response?.status, error.response?.data);
       toast.error("Failed to load saved posts. Please try logging in again.", { position: "top-right" });
     } finally {
       setLoading(false);
+      setLoadingMore(false);
     }
   };
 
@@ -43,11 +49,7 @@ const SavedPosts = () => {
   }, [user, token]);
 
   const handleUpdatePost = (updatedPost) => {
-    setPosts((prev) =>
-      prev
-        .map((p) => (p.id === updatedPost.id ? updatedPost : p))
-        .sort((a, b) => new Date(b.createdAt) - new Date(a.createdAt))
-    );
+    setPosts((prev) => prev.map((p) => (p.id === updatedPost.id ? updatedPost : p)));
   };
 
   const handleDeletePost = (postId) => {
@@ -78,7 +80,7 @@ const SavedPosts = () => {
             <h2 className="text-3xl font-bold text-amber-800">Saved Posts</h2>
             {!loading && posts.length > 0 && (
               <p className="text-gray-500">
-                {posts.length} {posts.length === 1 ? "post" : "posts"} saved
+                {posts.length}{nextCursor ? "+" : ""} {posts.length === 1 && !nextCursor ? "post" : "posts"} saved
               </p>
             )}
           </div>
@@ -131,6 +133,17 @@ const SavedPosts = () => {
               </AnimatePresence>
             </motion.div>
           )}
+          {!loading && nextCursor && (
+            <div className="flex justify-center mt-8">
+              <button
+                onClick={() => fetchSavedPosts(nextCursor)}
+                disabled={loadingMore}
+                className="px-6 py-2 text-white transition-all rounded-lg bg-amber-500 hover:bg-amber-600 disabled:opacity-50"
+              >
+                {loadingMore ? "Loading..." : "Load more"}
+              </button>
+            </div>
+          )}
         </div>
       </motion.div>
     </div>
@@ -3,13 +3,16 @@ package com.nexora.server.config;
 import com.cloudinary.Cloudinary;
 import com.cloudinary.utils.ObjectUtils;
 import io.github.cdimascio.dotenv.Dotenv;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 /**
  * Configuration class for setting up Cloudinary integration.
+ * Only active when Cloudinary is the media backend (the default).
  */
 @Configuration
+@ConditionalOnProperty(name = "nexora.media.backend", havingValue = "cloudinary", matchIfMissing = true)
 public class CloudinaryConfig {
 
     // Load environment variables from .env file
@@ -17,33 +20,34 @@ public class CloudinaryConfig {
 
     /**
      * Creates and configures a Cloudinary bean using credentials from environment variables.
-     * Tests the connection by pinging the Cloudinary API.
+     * Tests the connection by pinging the Cloudinary API. A failed ping is only reported:
+     * the client is still returned so uploads fail with Cloudinary's error instead of a
+     * NullPointerException, and work again once the service is reachable.
      *
-     * @return Configured Cloudinary instance, or null if connection fails.
+     * @return Configured Cloudinary instance.
      */
     @Bean
     public Cloudinary cloudinary() {
-        try {
-            // Initialize Cloudinary with credentials from .env
-            Cloudinary cloudinary = new Cloudinary(ObjectUtils.asMap(
-                "cloud_name", dotenv.get("CLOUDINARY_CLOUD_NAME"),
-                "api_key", dotenv.get("CLOUDINARY_API_KEY"),
-                "api_secret", dotenv.get("CLOUDINARY_API_SECRET")
-            ));
+        // Initialize Cloudinary with credentials from .env
+        Cloudinary cloudinary = new Cloudinary(ObjectUtils.asMap(
+            "cloud_name", dotenv.get("CLOUDINARY_CLOUD_NAME"),
+            "api_key", dotenv.get("CLOUDINARY_API_KEY"),
+            "api_secret", dotenv.get("CLOUDINARY_API_SECRET")
+        ));
 
+        try {
             // Test connection by requesting account details
             cloudinary.api().ping(ObjectUtils.emptyMap());
 
             System.out.println();
             System.out.println("<> Cloudinary connection successful!");
             System.out.println();
-            return cloudinary;
 
         } catch (Exception e) {
             System.out.println();
             System.err.println("X Error connecting to Cloudinary: " + e.getMessage());
             System.out.println();
-            return null;
         }
+        return cloudinary;
     }
 }
@@ -0,0 +1,13 @@
+package com.nexora.server.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables @Scheduled background jobs.
+ * Jobs run on the "taskScheduler" bean defined in WebSocketConfig.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -59,6 +59,8 @@ public class SecurityConfig {
                         .permitAll()
                         // Allow OAuth2 endpoints without authentication
                         .requestMatchers("/oauth2/**").permitAll()
+                        // Files served by the local media store are public, like their Cloudinary counterparts
+                        .requestMatchers("/media/**").permitAll()
                         // Restrict admin endpoints to users with ADMIN role
                         .requestMatchers("/api/admin/**").hasRole("ADMIN")
                         // All other requests require authentication
@@ -1,6 +1,8 @@
 package com.nexora.server.controller;
 
+import com.nexora.server.model.Role;
 import com.nexora.server.model.User;
+import com.nexora.server.service.AuthorizationService;
 import com.nexora.server.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -23,6 +25,9 @@ public class AdminController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private AuthorizationService authorizationService;
+
     @GetMapping("/users")
     public ResponseEntity<?> getAllUsers(
             @RequestParam(defaultValue = "0") int page,
@@ -63,4 +68,38 @@ public class AdminController {
                     .body(Map.of("error", e.getMessage()));
         }
     }
-}
\ No newline at end of file
+
+    @PatchMapping("/users/{id}/role")
+    public ResponseEntity<?> changeRole(
+            @PathVariable String id,
+            @RequestBody Map<String, String> body,
+            @RequestHeader(value = "Authorization", required = false) String authHeader) {
+        try {
+            if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                        .header(HttpHeaders.CACHE_CONTROL, "no-store")
+                        .body(Map.of("error", "No valid token provided"));
+            }
+            User caller = userService.validateJwtToken(authHeader.substring(7));
+            // Only admins may hand out or take away roles
+            if (authorizationService.roleOf(caller.getId()) != Role.ADMIN) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                        .header(HttpHeaders.CACHE_CONTROL, "no-store")
+                        .body(Map.of("error", "Only admins can change roles"));
+            }
+
+            String role = body.get("role");
+            if (role == null) {
+                throw new IllegalArgumentException("Role is required");
+            }
+            User user = userService.changeRole(id, Role.valueOf(role.trim().toUpperCase()));
+            return ResponseEntity.ok()
+                    .header(HttpHeaders.CACHE_CONTROL, "no-store")
+                    .body(Map.of("id", user.getId(), "role", user.getRole()));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .header(HttpHeaders.CACHE_CONTROL, "no-store")
+                    .body(Map.of("error", e.getMessage()));
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.nexora.server.controller;
+
+import com.nexora.server.service.media.LocalMediaStore;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Serves files written by the local media store, with single byte-range support so video
+ * players can seek. The body never passes through the heap: when Tomcat supports sendfile the
+ * kernel copies the file straight to the socket, otherwise {@link FileChannel#transferTo} is used.
+ * Only registered when nexora.media.backend=local.
+ */
+@RestController
+@RequestMapping("/media")
+@ConditionalOnProperty(name = "nexora.media.backend", havingValue = "local")
+public class MediaController {
+
+    // Request attributes of Tomcat's sendfile support; the end offset is exclusive
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    // Stored files get random names and are never rewritten, so they can be cached for good
+    private static final String CACHE_CONTROL = "public, max-age=31536000, immutable";
+
+    @Autowired
+    private LocalMediaStore localMediaStore;
+
+    // Endpoint: GET /media/{resourceType}/{fileName}
+    // Purpose: Serve a locally stored image or video
+    // Request: Optional Range header with a single range, e.g. "bytes=0-1048575" or "bytes=-500"
+    // Response: 200 with the whole file, 206 with the requested range,
+    //           416 if the range lies outside the file, 404 if there is no such file
+    @GetMapping("/{resourceType}/{fileName}")
+    public void getMedia(@PathVariable String resourceType, @PathVariable String fileName,
+                         @RequestHeader(value = HttpHeaders.RANGE, required = false) String rangeHeader,
+                         HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Path path = localMediaStore.resolve(resourceType, fileName);
+        if (path == null || !Files.isRegularFile(path)) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        long size = Files.size(path);
+        long start = 0;
+        long end = size - 1;
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (rangeHeader != null) {
+            try {
+                List<HttpRange> ranges = HttpRange.parseRanges(rangeHeader);
+                // Multiple ranges would need a multipart body; players never ask for them, so send the whole file
+                if (ranges.size() == 1) {
+                    start = ranges.get(0).getRangeStart(size);
+                    end = ranges.get(0).getRangeEnd(size);
+                    response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size);
+                }
+            } catch (IllegalArgumentException e) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+                response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+        }
+
+        long length = end - start + 1;
+        response.setContentType(MediaTypeFactory.getMediaType(fileName)
+                .orElse(MediaType.APPLICATION_OCTET_STREAM).toString());
+        response.setContentLengthLong(length);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        if (length <= 0) {
+            return;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            // Tomcat writes the range with sendfile once the handler returns
+            request.setAttribute(SENDFILE_FILENAME, path.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+        try (FileChannel file = FileChannel.open(path, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = length;
+            while (remaining > 0) {
+                long sent = file.transferTo(position, remaining, out);
+                if (sent <= 0) {
+                    // The file was truncated while being served
+                    break;
+                }
+                position += sent;
+                remaining -= sent;
+            }
+        }
+    }
+}
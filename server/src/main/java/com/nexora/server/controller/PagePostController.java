@@ -2,7 +2,11 @@ package com.nexora.server.controller;
 
 import com.nexora.server.model.post.Post;
 import com.nexora.server.service.PagePostService;
+import com.nexora.server.service.post.PostSummaryService;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -10,7 +14,9 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/feedposts")
@@ -20,16 +26,69 @@ public class PagePostController {
     @Autowired
     private PagePostService postService;
 
+    @Autowired
+    private PostSummaryService postSummaryService;
+
+    @Value("${jwt.secret}")
+    private String jwtSecret;
+
+    // Offset mode: ?page=&limit= returns a plain list of posts.
+    // Cursor mode: ?cursor=&limit= (empty cursor for the first page) returns { items, nextCursor }.
+    // Ranking: ?sort=new (default) orders by createdAt, ?sort=hot by the precomputed hot score.
+    // Summary view: ?view=summary returns { items, nextCursor } of PostSummary, with the
+    // caller's liked/saved flags when an Authorization header is sent.
     @GetMapping
-    public ResponseEntity<List<Post>> getAllPosts(
+    public ResponseEntity<?> getAllPosts(
             @RequestParam(defaultValue = "1") int page,
-            @RequestParam(defaultValue = "10") int limit) {
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "new") String sort,
+            @RequestParam(required = false) String view,
+            @RequestHeader(value = "Authorization", required = false) String authHeader) {
         try {
+            if ("summary".equalsIgnoreCase(view)) {
+                boolean hot = "hot".equalsIgnoreCase(sort);
+                if (!hot && !"new".equalsIgnoreCase(sort)) {
+                    throw new IllegalArgumentException("Unsupported sort: " + sort);
+                }
+                return ResponseEntity.ok(postSummaryService.getSummaries(extractUserIdFromToken(authHeader), hot, cursor, limit));
+            }
+            if ("hot".equalsIgnoreCase(sort)) {
+                if (cursor != null) {
+                    return ResponseEntity.ok(postService.getHotPostsAfter(cursor, limit));
+                }
+                return ResponseEntity.ok(postService.getHotPosts(PageRequest.of(page - 1, limit)));
+            }
+            if (!"new".equalsIgnoreCase(sort)) {
+                throw new IllegalArgumentException("Unsupported sort: " + sort);
+            }
+            if (cursor != null) {
+                return ResponseEntity.ok(postService.getPostsAfter(cursor, limit));
+            }
             Pageable pageable = PageRequest.of(page - 1, limit, Sort.by("createdAt").descending());
             List<Post> posts = postService.getAllPosts(pageable).getContent();
             return ResponseEntity.ok(posts);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
         }
     }
-}
\ No newline at end of file
+
+    // Extracts user ID from JWT token in Authorization header, or null for anonymous callers
+    private String extractUserIdFromToken(String authHeader) {
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return null;
+        }
+        try {
+            return Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8)))
+                .build()
+                .parseClaimsJws(authHeader.substring(7))
+                .getBody()
+                .getSubject();
+        } catch (Exception e) {
+            return null;
+        }
+    }
+}
@@ -5,6 +5,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.nexora.server.model.SocialMediaLink;
 import com.nexora.server.model.User;
 import com.nexora.server.service.UserService;
+import com.nexora.server.service.post.PostService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpHeaders;
@@ -36,6 +37,12 @@ public class UserController {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private PostService postService;
+
+    // Number of most recent bookmarks returned with a profile; the rest are paged via /api/posts/saved
+    private static final int PROFILE_BOOKMARK_LIMIT = 100;
+
     /**
      * Follow another user.
      */
@@ -127,6 +134,7 @@ public class UserController {
     public ResponseEntity<?> getUserById(@PathVariable String userId) {
         try {
             User user = userService.getUserById(userId);
+            user.setBookmarkedPosts(postService.getSavedPostIds(userId, PROFILE_BOOKMARK_LIMIT));
             Map<String, String> links = new HashMap<>();
             links.put("self", "/api/users/" + userId);
             links.put("followers", "/api/users/" + userId + "/followers");
@@ -393,6 +401,7 @@ public class UserController {
             }
 
             // Update user fields
+            boolean renamed = request.name() != null && !request.name().equals(user.getName());
             if (request.name() != null) user.setName(request.name());
             if (request.username() != null) user.setUsername(request.username());
             if (request.email() != null) user.setEmail(request.email());
@@ -414,6 +423,10 @@ public class UserController {
             }
 
             userService.save(user);
+            if (renamed) {
+                // Keeps post search matching the author's current name
+                userService.updatePostAuthorName(id, user.getName());
+            }
             Map<String, String> links = new HashMap<>();
             links.put("self", "/api/users/" + id);
             links.put("images", "/api/users/" + id + "/images");
@@ -462,16 +475,23 @@ public class UserController {
             }
 
             // Upload images if provided
+            String oldProfileUrl = null;
+            String oldBannerUrl = null;
             if (profileImage != null && !profileImage.isEmpty()) {
                 String profileUrl = userService.uploadFile(profileImage);
+                oldProfileUrl = user.getProfilePhotoUrl();
                 user.setProfilePhotoUrl(profileUrl);
             }
             if (bannerImage != null && !bannerImage.isEmpty()) {
                 String bannerUrl = userService.uploadFile(bannerImage);
+                oldBannerUrl = user.getBannerPhotoUrl();
                 user.setBannerPhotoUrl(bannerUrl);
             }
 
             userService.save(user);
+            // Drop the references held by the replaced images
+            userService.releaseFile(oldProfileUrl);
+            userService.releaseFile(oldBannerUrl);
             Map<String, String> links = new HashMap<>();
             links.put("self", "/api/users/" + id);
             links.put("images", "/api/users/" + id + "/images");
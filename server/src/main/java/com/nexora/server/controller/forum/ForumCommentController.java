@@ -1,9 +1,12 @@
 package com.nexora.server.controller.forum;
 
+import com.nexora.server.model.CursorPage;
 import com.nexora.server.model.forum.ForumComment;
+import com.nexora.server.model.forum.ForumCommentThread;
 import com.nexora.server.service.AuthenticationService;
 import com.nexora.server.service.forum.ForumCommentService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -165,6 +168,99 @@ public class ForumCommentController {
                 .body(response);
     }
 
+    /**
+     * Retrieves a page of a question's top-level comments, each with its reply count and first replies.
+     * Pass the returned nextCursor back as cursor to get the following page.
+     *
+     * @param questionId Question ID
+     * @param sortBy     "top", "oldest" or "newest"
+     * @param cursor     Cursor from the previous page, if any
+     * @param limit      Number of top-level comments per page
+     * @param replies    Number of replies to include under each comment
+     * @return ResponseEntity with the comment threads or error
+     */
+    @GetMapping(value = "/question/{questionId}/threads", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> getCommentThreads(
+            @PathVariable String questionId,
+            @RequestParam(required = false, defaultValue = "newest") String sortBy,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(defaultValue = "3") int replies) {
+        CursorPage<ForumCommentThread> page;
+        try {
+            page = commentService.getCommentThreads(questionId, sortBy, cursor, limit, replies);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .header(HttpHeaders.CACHE_CONTROL, "no-store")
+                    .body(createErrorResponse(e.getMessage()));
+        }
+        Map<String, String> links = new HashMap<>();
+        links.put("self", "/api/forum/comments/question/" + questionId + "/threads");
+        links.put("question", "/api/questions/" + questionId);
+        if (page.nextCursor() != null) {
+            links.put("next", UriComponentsBuilder.fromPath("/api/forum/comments/question/{questionId}/threads")
+                    .queryParam("sortBy", sortBy)
+                    .queryParam("cursor", page.nextCursor())
+                    .queryParam("limit", limit)
+                    .queryParam("replies", replies)
+                    .buildAndExpand(questionId)
+                    .encode()
+                    .toUriString());
+        }
+        Map<String, Object> response = new HashMap<>();
+        response.put("threads", page.items());
+        response.put("nextCursor", page.nextCursor());
+        response.put("_links", links);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CACHE_CONTROL, "no-cache, no-store, must-revalidate")
+                .body(response);
+    }
+
+    /**
+     * Retrieves a page of the direct replies to a comment, oldest first, each with its own reply count.
+     *
+     * @param id     Parent comment ID
+     * @param cursor Cursor from the previous page, if any
+     * @param limit  Number of replies per page
+     * @return ResponseEntity with the replies, 404 if the comment does not exist, or error
+     */
+    @GetMapping(value = "/{id}/replies", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> getReplies(
+            @PathVariable String id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        CursorPage<ForumCommentThread> page;
+        try {
+            page = commentService.getReplies(id, cursor, limit);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .header(HttpHeaders.CACHE_CONTROL, "no-store")
+                    .body(createErrorResponse(e.getMessage()));
+        }
+        if (page == null) {
+            return ResponseEntity.status(404)
+                    .header(HttpHeaders.CACHE_CONTROL, "no-store")
+                    .body(createErrorResponse("Comment not found"));
+        }
+        Map<String, String> links = new HashMap<>();
+        links.put("self", "/api/forum/comments/" + id + "/replies");
+        if (page.nextCursor() != null) {
+            links.put("next", UriComponentsBuilder.fromPath("/api/forum/comments/{id}/replies")
+                    .queryParam("cursor", page.nextCursor())
+                    .queryParam("limit", limit)
+                    .buildAndExpand(id)
+                    .encode()
+                    .toUriString());
+        }
+        Map<String, Object> response = new HashMap<>();
+        response.put("replies", page.items());
+        response.put("nextCursor", page.nextCursor());
+        response.put("_links", links);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CACHE_CONTROL, "no-cache, no-store, must-revalidate")
+                .body(response);
+    }
+
     /**
      * Upvotes or downvotes a comment.
      *
@@ -205,6 +301,10 @@ public class ForumCommentController {
             return ResponseEntity.ok()
                     .header(HttpHeaders.CACHE_CONTROL, "no-store")
                     .body(response);
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(409)
+                    .header(HttpHeaders.CACHE_CONTROL, "no-store")
+                    .body(createErrorResponse("Too many votes at once, please try again"));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
                     .header(HttpHeaders.CACHE_CONTROL, "no-store")
@@ -1,10 +1,14 @@
 package com.nexora.server.controller.forum;
 
+import com.nexora.server.model.CursorPage;
 import com.nexora.server.model.forum.ForumQuestion;
 import com.nexora.server.repository.forum.ForumQuestionRepository;
 import com.nexora.server.service.AuthenticationService;
 import com.nexora.server.service.forum.ForumQuestionService;
+import com.nexora.server.service.forum.ForumSearchIndex;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -12,6 +16,7 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -126,7 +131,9 @@ public class ForumQuestionController {
     }
 
     /**
-     * Get a list of forum questions, with optional filtering and sorting.
+     * Get a page of forum questions, with optional filtering and sorting. Pinned questions come first;
+     * pass the returned nextCursor back as cursor to get the following page. A search only lists the
+     * 1,000 most relevant matches; use /search to get the best of them ranked by relevance.
      */
     @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<?> getQuestions(
@@ -134,8 +141,18 @@ public class ForumQuestionController {
             @RequestParam(required = false) String search,
             @RequestParam(required = false) String authorId,
             @RequestParam(required = false, defaultValue = "newest") String sortBy,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit,
             @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
-        List<ForumQuestion> questions = questionService.getQuestions(tag, search, sortBy, authorId);
+        CursorPage<ForumQuestion> page;
+        try {
+            page = questionService.getQuestions(tag, search, sortBy, authorId, cursor, limit);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .header(HttpHeaders.CACHE_CONTROL, "no-store")
+                    .body(createErrorResponse(e.getMessage()));
+        }
+        List<ForumQuestion> questions = page.items();
         String etag = "\"" + Integer.toHexString(questions.hashCode()) + "\"";
         if (ifNoneMatch != null && ifNoneMatch.equals(etag)) {
             return ResponseEntity.status(304)
@@ -145,8 +162,20 @@ public class ForumQuestionController {
         }
         Map<String, String> links = new HashMap<>();
         links.put("self", "/api/questions");
+        if (page.nextCursor() != null) {
+            links.put("next", UriComponentsBuilder.fromPath("/api/questions")
+                    .queryParamIfPresent("tag", Optional.ofNullable(tag))
+                    .queryParamIfPresent("search", Optional.ofNullable(search))
+                    .queryParamIfPresent("authorId", Optional.ofNullable(authorId))
+                    .queryParam("sortBy", sortBy)
+                    .queryParam("cursor", page.nextCursor())
+                    .queryParam("limit", limit)
+                    .encode()
+                    .toUriString());
+        }
         Map<String, Object> response = new HashMap<>();
         response.put("questions", questions);
+        response.put("nextCursor", page.nextCursor());
         response.put("_links", links);
         return ResponseEntity.ok()
                 .header(HttpHeaders.CACHE_CONTROL, "max-age=300, must-revalidate")
@@ -155,15 +184,65 @@ public class ForumQuestionController {
     }
 
     /**
-     * Get a single forum question by ID.
+     * Search forum questions by relevance. Returns the best matches first, each with its title and a
+     * description snippet where the matched words are wrapped in mark tags (the rest is HTML-escaped).
+     * At most 50 hits are returned.
+     */
+    @GetMapping(value = "/search", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> searchQuestions(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        List<ForumSearchIndex.SearchHit> hits = questionService.searchQuestions(q, limit);
+        Map<String, ForumQuestion> questionsById = new HashMap<>();
+        questionRepository.findAllById(hits.stream().map(ForumSearchIndex.SearchHit::questionId).toList())
+                .forEach(question -> questionsById.put(question.getId(), question));
+
+        List<Map<String, Object>> results = new ArrayList<>();
+        for (ForumSearchIndex.SearchHit hit : hits) {
+            ForumQuestion question = questionsById.get(hit.questionId());
+            if (question == null) {
+                // Deleted through another instance since the index was last rebuilt
+                continue;
+            }
+            Map<String, String> highlights = new HashMap<>();
+            highlights.put("title", hit.title());
+            highlights.put("snippet", hit.snippet());
+            Map<String, Object> result = new HashMap<>();
+            result.put("question", question);
+            result.put("score", hit.score());
+            result.put("highlights", highlights);
+            results.add(result);
+        }
+        Map<String, String> links = new HashMap<>();
+        links.put("self", UriComponentsBuilder.fromPath("/api/questions/search")
+                .queryParam("q", q)
+                .queryParam("limit", limit)
+                .encode()
+                .toUriString());
+        Map<String, Object> response = new HashMap<>();
+        response.put("results", results);
+        response.put("_links", links);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CACHE_CONTROL, "max-age=60, must-revalidate")
+                .body(response);
+    }
+
+    /**
+     * Get a single forum question by ID. Counts a view, once per viewer within the dedup window;
+     * signed-in viewers are told apart by user ID, others by address.
      */
     @GetMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<?> getQuestion(
             @PathVariable String id,
-            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+            @RequestHeader(value = "Authorization", required = false) String authHeader,
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch,
+            HttpServletRequest request) {
         try {
             Optional<ForumQuestion> question = questionRepository.findById(id);
             if (question.isPresent()) {
+                String userId = extractUserIdFromToken(authHeader);
+                questionService.recordView(id, userId != null ? "u:" + userId : "a:" + request.getRemoteAddr());
+                questionService.withLiveViews(question.get());
                 String etag = "\"" + Integer.toHexString(question.get().hashCode()) + "\"";
                 if (ifNoneMatch != null && ifNoneMatch.equals(etag)) {
                     return ResponseEntity.status(304)
@@ -227,6 +306,10 @@ public class ForumQuestionController {
             return ResponseEntity.ok()
                     .header(HttpHeaders.CACHE_CONTROL, "no-store")
                     .body(response);
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(409)
+                    .header(HttpHeaders.CACHE_CONTROL, "no-store")
+                    .body(createErrorResponse("Too many votes at once, please try again"));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
                     .header(HttpHeaders.CACHE_CONTROL, "no-store")
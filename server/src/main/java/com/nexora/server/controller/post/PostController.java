@@ -1,20 +1,33 @@
 package com.nexora.server.controller.post;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nexora.server.model.CursorPage;
+import com.nexora.server.model.post.LikeResult;
 import com.nexora.server.model.post.Post;
+import com.nexora.server.model.post.PostComment;
+import com.nexora.server.model.post.PostStats;
+import com.nexora.server.model.post.PostSummary;
+import com.nexora.server.model.post.PostSummaryBatch;
 import com.nexora.server.service.post.PostService;
+import com.nexora.server.service.post.PostSummaryService;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import jakarta.servlet.http.HttpServletResponse;
 
 import javax.crypto.SecretKey;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
-import java.time.ZoneOffset;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
@@ -31,6 +44,17 @@ public class PostController {
     @Autowired
     private PostService postService;
 
+    // Writes posts to the NDJSON stream
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Injects PostSummaryService for compact feed listings
+    @Autowired
+    private PostSummaryService postSummaryService;
+
+    // Number of posts read from the database per round trip when streaming
+    private static final int STREAM_BATCH_SIZE = 100;
+
     // JWT secret for token verification
     @Value("${jwt.secret}")
     private String jwtSecret;
@@ -70,6 +94,70 @@ public class PostController {
         );
     }
 
+    // Builds the ETag of a post from its version, which changes on every edit, like and comment
+    private String postEtag(String postId, Long version) {
+        return "\"" + postId + "-" + (version != null ? version : 0) + "\"";
+    }
+
+    // Checks whether an If-None-Match header lists the given ETag (weak comparison)
+    private boolean etagMatches(String ifNoneMatch, String etag) {
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Builds the ETag of a list of posts from their IDs and versions, so it changes whenever a post
+    // is created, changed or deleted. The author's current name and photo and the flushed counters
+    // are hashed too, since they change without bumping the version
+    private String postsEtag(List<Post> posts) {
+        return postsEtag(posts, null);
+    }
+
+    // Builds the ETag of a page of posts, which also changes when the page gains or loses its next page
+    private String postsEtag(List<Post> posts, String nextCursor) {
+        StringBuilder state = new StringBuilder(nextCursor != null ? nextCursor : "").append('|');
+        for (Post post : posts) {
+            state.append(post.getId()).append(':').append(post.getVersion() != null ? post.getVersion() : 0)
+                .append(':').append(post.getUserName())
+                .append(':').append(post.getUserProfilePhotoUrl())
+                .append(':').append(post.getViewCount())
+                .append(':').append(post.getImpressionCount())
+                .append(':').append(post.getHotScore()).append(';');
+        }
+        return "\"posts-" + DigestUtils.md5DigestAsHex(state.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    // Reads the expected post version from an If-Match header; null or * means no precondition.
+    // A listed tag only counts if it is exactly the post's strong ETag for some version
+    private Long versionFromIfMatch(String ifMatch, String postId) {
+        if (ifMatch == null || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String prefix = "\"" + postId + "-";
+        for (String candidate : ifMatch.split(",")) {
+            String tag = candidate.trim();
+            if (!tag.startsWith(prefix) || !tag.endsWith("\"") || tag.length() <= prefix.length()) {
+                continue;
+            }
+            try {
+                long version = Long.parseLong(tag.substring(prefix.length(), tag.length() - 1));
+                if (postEtag(postId, version).equals(tag)) {
+                    return version;
+                }
+            } catch (NumberFormatException e) {
+                // Not a tag of this post
+            }
+        }
+        throw new OptimisticLockingFailureException("If-Match does not match the current version");
+    }
+
     // Endpoint: POST /api/posts
     // Purpose: Creates a new post with description and optional media files
     // Request: Multipart form-data with description (string), files (List<MultipartFile>, optional), Authorization header (Bearer token)
@@ -93,7 +181,7 @@ public class PostController {
             // Set cache control to prevent caching
             response.setHeader("Cache-Control", "no-cache, no-store, must-revalidate");
             // Set ETag for cache validation
-            response.setHeader("ETag", "\"" + post.getId() + "-" + post.getCreatedAt().toInstant(ZoneOffset.UTC).toEpochMilli() + "\"");
+            response.setHeader("ETag", postEtag(post.getId(), post.getVersion()));
 
             // Build response with post and links
             Map<String, Object> responseBody = new HashMap<>();
@@ -116,17 +204,32 @@ public class PostController {
 
     // Endpoint: GET /api/posts/{postId}
     // Purpose: Retrieves a specific post by ID
-    // Request: Path variable postId
-    // Response: 200 OK with post details and links, or 404/500 for errors
+    // Request: Path variable postId, optional If-None-Match header
+    // Response: 200 OK with post details and links, 304 Not Modified if the ETag still matches, or 404/500 for errors
     @GetMapping("/{postId}")
     public ResponseEntity<Map<String, Object>> getPost(
             @PathVariable String postId,
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch,
             HttpServletResponse response) {
         try {
+            // Answer revalidations from the version alone, without loading the post
+            if (ifNoneMatch != null) {
+                String etag = postEtag(postId, postService.getPostVersion(postId));
+                if (etagMatches(ifNoneMatch, etag)) {
+                    // Only counted once the post is known to exist
+                    postService.recordView(postId);
+                    return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .header("Cache-Control", "no-cache")
+                        .eTag(etag)
+                        .build();
+                }
+            }
+
             // Fetch post using PostService
             Post post = postService.getPost(postId);
-            response.setHeader("Cache-Control", "no-cache, no-store, must-revalidate");
-            response.setHeader("ETag", "\"" + post.getId() + "-" + post.getCreatedAt().toInstant(ZoneOffset.UTC).toEpochMilli() + "\"");
+            postService.recordView(postId);
+            response.setHeader("Cache-Control", "no-cache");
+            response.setHeader("ETag", postEtag(post.getId(), post.getVersion()));
 
             // Build response with post and links
             Map<String, Object> responseBody = new HashMap<>();
@@ -145,14 +248,41 @@ public class PostController {
     }
 
     // Endpoint: GET /api/posts
-    // Purpose: Retrieves all posts
-    // Request: None
-    // Response: 200 OK with list of posts and their links, or 500 for errors
+    // Purpose: Retrieves all posts, or a page of compact post summaries
+    // Request: Optional view=summary with cursor, limit, sort (new|hot) query parameters and Authorization header;
+    //          optional If-None-Match header for the full list
+    // Response: 200 OK with list of posts and their links, or { items, nextCursor } of summaries;
+    //           304 Not Modified if no post changed since the ETag; 400/500 for errors
     @GetMapping
-    public ResponseEntity<List<Map<String, Object>>> getAllPosts(HttpServletResponse response) {
+    public ResponseEntity<?> getAllPosts(
+            @RequestParam(required = false) String view,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(defaultValue = "new") String sort,
+            @RequestHeader(value = "Authorization", required = false) String authHeader,
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch,
+            HttpServletResponse response) {
         try {
+            if ("summary".equalsIgnoreCase(view)) {
+                // Summaries carry the caller's liked/saved flags instead of the likes and savedBy arrays
+                String viewerId = extractUserIdFromToken(authHeader);
+                CursorPage<PostSummary> page = postSummaryService.getSummaries(viewerId, isHotSort(sort), cursor, limit);
+                response.setHeader("Cache-Control", "no-cache, no-store, must-revalidate");
+                return ResponseEntity.ok(page);
+            }
+
             // Fetch all posts
             List<Post> posts = postService.getAllPosts();
+
+            // Answer revalidations from the returned posts' versions, without sending them again
+            String listEtag = postsEtag(posts);
+            if (ifNoneMatch != null && etagMatches(ifNoneMatch, listEtag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .header("Cache-Control", "no-cache")
+                    .eTag(listEtag)
+                    .build();
+            }
+
             // Map posts to response format with links
             List<Map<String, Object>> responseBody = posts.stream().map(post -> {
                 Map<String, Object> postWithLinks = new HashMap<>();
@@ -161,10 +291,13 @@ public class PostController {
                 return postWithLinks;
             }).collect(Collectors.toList());
 
-            response.setHeader("Cache-Control", "no-cache, no-store, must-revalidate");
-            response.setHeader("ETag", "\"" + System.currentTimeMillis() + "\"");
+            response.setHeader("Cache-Control", "no-cache");
+            response.setHeader("ETag", listEtag);
 
             return ResponseEntity.ok(responseBody);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
             System.err.println("Error fetching posts: " + e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -172,52 +305,232 @@ public class PostController {
         }
     }
 
+    // Endpoint: GET /api/posts (Accept: application/x-ndjson)
+    // Purpose: Streams all posts, newest first, one JSON object per line
+    // Request: Accept header application/x-ndjson
+    // Response: 200 OK with one { post, _links } object per line, written as posts are read from the database
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllPosts() {
+        StreamingResponseBody body = outputStream -> {
+            try {
+                postService.forEachPostBatch(STREAM_BATCH_SIZE, batch -> {
+                    try {
+                        for (Post post : batch) {
+                            outputStream.write(objectMapper.writeValueAsBytes(
+                                Map.of("post", post, "_links", buildPostLinks(post.getId()))));
+                            outputStream.write('\n');
+                        }
+                        outputStream.flush();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                // Client disconnected; closing the stream releases the database cursor
+                System.err.println("Post stream aborted: " + e.getCause().getMessage());
+            }
+        };
+        return ResponseEntity.ok()
+            .header("Cache-Control", "no-cache, no-store, must-revalidate")
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(body);
+    }
+
+    // Endpoint: GET /api/posts/{postId}/stats
+    // Purpose: Retrieves the view, impression, like, comment and save counts of a post
+    // Request: Path variable postId
+    // Response: 200 OK with the counts (including views and impressions not yet flushed), or 404/500 for errors
+    @GetMapping("/{postId}/stats")
+    public ResponseEntity<?> getPostStats(@PathVariable String postId) {
+        try {
+            PostStats stats = postService.getPostStats(postId);
+            return ResponseEntity.ok()
+                .header("Cache-Control", "no-cache, no-store, must-revalidate")
+                .body(stats);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            System.err.println("Error fetching post stats: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(Map.of("error", "Error fetching post stats: " + e.getMessage()));
+        }
+    }
+
+    // Endpoint: GET /api/posts/search
+    // Purpose: Searches post descriptions and author names, most relevant first
+    // Request: q (search terms), optional cursor (from a previous page) and limit query parameters, optional Authorization header
+    // Response: 200 OK with { items, nextCursor } of post summaries, or 400/500 for errors
+    @GetMapping("/search")
+    public ResponseEntity<?> searchPosts(
+            @RequestParam("q") String query,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestHeader(value = "Authorization", required = false) String authHeader,
+            HttpServletResponse response) {
+        try {
+            String viewerId = extractUserIdFromToken(authHeader);
+            CursorPage<PostSummary> page = postSummaryService.search(viewerId, query, cursor, limit);
+            response.setHeader("Cache-Control", "no-cache, no-store, must-revalidate");
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            System.err.println("Error searching posts: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(Map.of("error", "Error searching posts: " + e.getMessage()));
+        }
+    }
+
+    // Endpoint: GET /api/posts/batch
+    // Purpose: Retrieves the summaries of several posts in one round trip (notifications, saved lists, profile grids)
+    // Request: ids query parameter with up to 100 comma-separated post IDs, optional Authorization header
+    // Response: 200 OK with { items, missing }, items in request order with null for missing posts, or 400/500 for errors
+    @GetMapping("/batch")
+    public ResponseEntity<?> getPostsBatch(
+            @RequestParam("ids") List<String> ids,
+            @RequestHeader(value = "Authorization", required = false) String authHeader) {
+        try {
+            String viewerId = extractUserIdFromToken(authHeader);
+            List<String> postIds = ids.stream().map(String::trim).filter(id -> !id.isEmpty()).toList();
+            PostSummaryBatch batch = postSummaryService.getSummariesByIds(viewerId, postIds);
+            return ResponseEntity.ok()
+                .header("Cache-Control", "no-cache, no-store, must-revalidate")
+                .body(batch);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            System.err.println("Error fetching posts batch: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(Map.of("error", "Error fetching posts batch: " + e.getMessage()));
+        }
+    }
+
+    // Accepts sort=new (default) or sort=hot
+    private boolean isHotSort(String sort) {
+        if ("hot".equalsIgnoreCase(sort)) {
+            return true;
+        }
+        if ("new".equalsIgnoreCase(sort)) {
+            return false;
+        }
+        throw new IllegalArgumentException("Unsupported sort: " + sort);
+    }
+
+    // Endpoint: GET /api/posts/home
+    // Purpose: Retrieves the authenticated user's home feed (posts from followed accounts), newest first
+    // Request: Authorization header, optional cursor (from a previous page) and limit query parameters
+    // Response: 200 OK with posts, their links and the next cursor, or 400/401/500 for errors
+    @GetMapping("/home")
+    public ResponseEntity<Map<String, Object>> getHomeFeed(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestHeader("Authorization") String authHeader,
+            HttpServletResponse response) {
+        // Authenticate user
+        String userId = extractUserIdFromToken(authHeader);
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .body(Map.of("error", "User not authenticated"));
+        }
+
+        try {
+            // Read the materialized timeline
+            CursorPage<Post> page = postService.getHomeFeed(userId, cursor, limit);
+            List<Map<String, Object>> posts = page.items().stream().map(post -> {
+                Map<String, Object> postWithLinks = new HashMap<>();
+                postWithLinks.put("post", post);
+                postWithLinks.put("_links", buildPostLinks(post.getId()));
+                return postWithLinks;
+            }).collect(Collectors.toList());
+
+            response.setHeader("Cache-Control", "no-cache, no-store, must-revalidate");
+
+            Map<String, Object> responseBody = new HashMap<>();
+            responseBody.put("posts", posts);
+            responseBody.put("nextCursor", page.nextCursor());
+            return ResponseEntity.ok(responseBody);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            System.err.println("Error fetching home feed: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(Map.of("error", "Error fetching home feed: " + e.getMessage()));
+        }
+    }
+
     // Endpoint: GET /api/posts/saved
-    // Purpose: Retrieves posts saved by the authenticated user
-    // Request: Authorization header (Bearer token)
-    // Response: 200 OK with list of saved posts and links, or 401/500 for errors
+    // Purpose: Retrieves a page of posts saved by the authenticated user, most recently saved first
+    // Request: Authorization header (Bearer token), optional cursor (from a previous page) and limit query parameters,
+    //          optional If-None-Match header
+    // Response: 200 OK with { items, nextCursor } of saved posts and their links,
+    //           304 Not Modified if the page is unchanged since the ETag, or 400/401/500 for errors
     @GetMapping("/saved")
-    public ResponseEntity<List<Map<String, Object>>> getSavedPosts(
+    public ResponseEntity<Map<String, Object>> getSavedPosts(
             @RequestHeader("Authorization") String authHeader,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch,
             HttpServletResponse response) {
         // Authenticate user
         String userId = extractUserIdFromToken(authHeader);
         if (userId == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                .body(List.of(Map.of("error", "User not authenticated")));
+                .body(Map.of("error", "User not authenticated"));
         }
 
         try {
             // Fetch saved posts
-            List<Post> posts = postService.getSavedPosts(userId);
-            List<Map<String, Object>> responseBody = posts.stream().map(post -> {
+            CursorPage<Post> page = postService.getSavedPosts(userId, cursor, limit);
+
+            // The page's posts and the next cursor are all a revalidation has to compare
+            String pageEtag = postsEtag(page.items(), page.nextCursor());
+            if (ifNoneMatch != null && etagMatches(ifNoneMatch, pageEtag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .header("Cache-Control", "no-cache")
+                    .eTag(pageEtag)
+                    .build();
+            }
+
+            List<Map<String, Object>> items = page.items().stream().map(post -> {
                 Map<String, Object> postWithLinks = new HashMap<>();
                 postWithLinks.put("post", post);
                 postWithLinks.put("_links", buildPostLinks(post.getId()));
                 return postWithLinks;
             }).collect(Collectors.toList());
 
-            response.setHeader("Cache-Control", "no-cache, no-store, must-revalidate");
-            response.setHeader("ETag", "\"" + System.currentTimeMillis() + "\"");
+            response.setHeader("Cache-Control", "no-cache");
+            response.setHeader("ETag", pageEtag);
 
+            Map<String, Object> responseBody = new HashMap<>();
+            responseBody.put("items", items);
+            responseBody.put("nextCursor", page.nextCursor());
             return ResponseEntity.ok(responseBody);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
             System.err.println("Error fetching saved posts: " + e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                .body(List.of(Map.of("error", "Error fetching saved posts: " + e.getMessage())));
+                .body(Map.of("error", "Error fetching saved posts: " + e.getMessage()));
         }
     }
 
     // Endpoint: PUT /api/posts/{postId}
     // Purpose: Updates an existing post’s description and media
-    // Request: Multipart form-data with description (string), files (List<MultipartFile>, optional), Authorization header
-    // Response: 200 OK with updated post and links, or 401/403/404/500 for errors
+    // Request: Multipart form-data with description (string), files (List<MultipartFile>, optional), Authorization header,
+    //          optional If-Match header with the post's ETag
+    // Response: 200 OK with updated post and links, 412 if the post changed since the ETag, or 401/403/404/500 for errors
     @PutMapping(value = "/{postId}", consumes = "multipart/form-data")
     public ResponseEntity<Map<String, Object>> updatePost(
             @PathVariable String postId,
             @RequestPart("description") String description,
             @RequestPart(value = "files", required = false) List<MultipartFile> files,
             @RequestHeader("Authorization") String authHeader,
+            @RequestHeader(value = "If-Match", required = false) String ifMatch,
             HttpServletResponse response) {
         // Authenticate user
         String userId = extractUserIdFromToken(authHeader);
@@ -228,9 +541,9 @@ public class PostController {
 
         try {
             // Update post
-            Post updatedPost = postService.updatePost(postId, userId, description, files);
+            Post updatedPost = postService.updatePost(postId, userId, description, files, versionFromIfMatch(ifMatch, postId));
             response.setHeader("Cache-Control", "no-cache, no-store, must-revalidate");
-            response.setHeader("ETag", "\"" + updatedPost.getId() + "-" + updatedPost.getCreatedAt().toInstant(ZoneOffset.UTC).toEpochMilli() + "\"");
+            response.setHeader("ETag", postEtag(updatedPost.getId(), updatedPost.getVersion()));
 
             // Build response
             Map<String, Object> responseBody = new HashMap<>();
@@ -244,6 +557,9 @@ public class PostController {
         } catch (SecurityException e) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN)
                 .body(Map.of("error", e.getMessage()));
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                .body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
             System.err.println("Error updating post: " + e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -253,12 +569,13 @@ public class PostController {
 
     // Endpoint: DELETE /api/posts/{postId}
     // Purpose: Deletes a post
-    // Request: Path variable postId, Authorization header
-    // Response: 200 OK with success message and links, or 401/403/404/500 for errors
+    // Request: Path variable postId, Authorization header, optional If-Match header with the post's ETag
+    // Response: 200 OK with success message and links, 412 if the post changed since the ETag, or 401/403/404/500 for errors
     @DeleteMapping("/{postId}")
     public ResponseEntity<Map<String, Object>> deletePost(
             @PathVariable String postId,
             @RequestHeader("Authorization") String authHeader,
+            @RequestHeader(value = "If-Match", required = false) String ifMatch,
             HttpServletResponse response) {
         // Authenticate user
         String userId = extractUserIdFromToken(authHeader);
@@ -269,7 +586,7 @@ public class PostController {
 
         try {
             // Delete post
-            postService.deletePost(postId, userId);
+            postService.deletePost(postId, userId, versionFromIfMatch(ifMatch, postId));
             response.setHeader("Cache-Control", "no-cache, no-store, must-revalidate");
 
             // Build response
@@ -286,6 +603,9 @@ public class PostController {
         } catch (SecurityException e) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN)
                 .body(Map.of("error", e.getMessage()));
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                .body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
             System.err.println("Error deleting post: " + e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -296,7 +616,7 @@ public class PostController {
     // Endpoint: POST /api/posts/{postId}/like
     // Purpose: Toggles like status for a post
     // Request: Path variable postId, Authorization header
-    // Response: 200 OK with updated post and links, or 401/404/500 for errors
+    // Response: 200 OK with the new like count, the caller's liked state and links, or 401/404/500 for errors
     @PostMapping("/{postId}/like")
     public ResponseEntity<Map<String, Object>> likePost(
             @PathVariable String postId,
@@ -311,14 +631,15 @@ public class PostController {
 
         try {
             // Toggle like
-            Post post = postService.likePost(postId, userId);
+            LikeResult result = postService.likePost(postId, userId);
             response.setHeader("Cache-Control", "no-cache, no-store, must-revalidate");
-            response.setHeader("ETag", "\"" + post.getId() + "-" + post.getCreatedAt().toInstant(ZoneOffset.UTC).toEpochMilli() + "\"");
 
             // Build response
             Map<String, Object> responseBody = new HashMap<>();
-            responseBody.put("post", post);
-            responseBody.put("_links", buildPostLinks(post.getId()));
+            responseBody.put("postId", postId);
+            responseBody.put("likeCount", result.likeCount());
+            responseBody.put("liked", result.liked());
+            responseBody.put("_links", buildPostLinks(postId));
 
             return ResponseEntity.ok(responseBody);
         } catch (IllegalArgumentException e) {
@@ -351,7 +672,7 @@ public class PostController {
             // Save post
             Post post = postService.savePost(postId, userId);
             response.setHeader("Cache-Control", "no-cache, no-store, must-revalidate");
-            response.setHeader("ETag", "\"" + post.getId() + "-" + post.getCreatedAt().toInstant(ZoneOffset.UTC).toEpochMilli() + "\"");
+            response.setHeader("ETag", postEtag(post.getId(), post.getVersion()));
 
             // Build response
             Map<String, Object> responseBody = new HashMap<>();
@@ -389,7 +710,7 @@ public class PostController {
             // Unsave post
             Post post = postService.unsavePost(postId, userId);
             response.setHeader("Cache-Control", "no-cache, no-store, must-revalidate");
-            response.setHeader("ETag", "\"" + post.getId() + "-" + post.getCreatedAt().toInstant(ZoneOffset.UTC).toEpochMilli() + "\"");
+            response.setHeader("ETag", postEtag(post.getId(), post.getVersion()));
 
             // Build response
             Map<String, Object> responseBody = new HashMap<>();
@@ -407,6 +728,36 @@ public class PostController {
         }
     }
 
+    // Endpoint: GET /api/posts/{postId}/comments
+    // Purpose: Retrieves a page of comments on a post, newest first
+    // Request: Path variable postId, optional cursor (from a previous page) and limit query parameters
+    // Response: 200 OK with comments and the next cursor, or 400/500 for errors
+    @GetMapping("/{postId}/comments")
+    public ResponseEntity<Map<String, Object>> getComments(
+            @PathVariable String postId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit,
+            HttpServletResponse response) {
+        try {
+            // Fetch one page of comments
+            CursorPage<PostComment> page = postService.getComments(postId, cursor, limit);
+            response.setHeader("Cache-Control", "no-cache, no-store, must-revalidate");
+
+            Map<String, Object> responseBody = new HashMap<>();
+            responseBody.put("comments", page.items());
+            responseBody.put("nextCursor", page.nextCursor());
+            responseBody.put("_links", buildPostLinks(postId));
+            return ResponseEntity.ok(responseBody);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            System.err.println("Error fetching comments: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(Map.of("error", "Error fetching comments: " + e.getMessage()));
+        }
+    }
+
     // Endpoint: POST /api/posts/{postId}/comment
     // Purpose: Adds a comment to a post
     // Request: Path variable postId, JSON body with comment (string), Authorization header
@@ -428,7 +779,7 @@ public class PostController {
             // Add comment
             Post post = postService.addComment(postId, userId, commentRequest.getComment());
             response.setHeader("Cache-Control", "no-cache, no-store, must-revalidate");
-            response.setHeader("ETag", "\"" + post.getId() + "-" + post.getCreatedAt().toInstant(ZoneOffset.UTC).toEpochMilli() + "\"");
+            response.setHeader("ETag", postEtag(post.getId(), post.getVersion()));
 
             // Build response
             Map<String, Object> responseBody = new HashMap<>();
@@ -469,7 +820,7 @@ public class PostController {
             // Update comment
             Post post = postService.updateComment(postId, commentId, userId, commentRequest.getComment());
             response.setHeader("Cache-Control", "no-cache, no-store, must-revalidate");
-            response.setHeader("ETag", "\"" + post.getId() + "-" + post.getCreatedAt().toInstant(ZoneOffset.UTC).toEpochMilli() + "\"");
+            response.setHeader("ETag", postEtag(post.getId(), post.getVersion()));
 
             // Build response
             Map<String, Object> responseBody = new HashMap<>();
@@ -511,7 +862,7 @@ public class PostController {
             // Delete comment
             Post post = postService.deleteComment(postId, commentId, userId);
             response.setHeader("Cache-Control", "no-cache, no-store, must-revalidate");
-            response.setHeader("ETag", "\"" + post.getId() + "-" + post.getCreatedAt().toInstant(ZoneOffset.UTC).toEpochMilli() + "\"");
+            response.setHeader("ETag", postEtag(post.getId(), post.getVersion()));
 
             // Build response
             Map<String, Object> responseBody = new HashMap<>();
@@ -0,0 +1,27 @@
+package com.nexora.server.model;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * A remote media asset registered by the SHA-256 of its content.
+ * Identical uploads share one asset; refCount tracks how many records point at it.
+ */
+@Data
+@Document(collection = "media_assets")
+public class MediaAsset {
+    @Id
+    private String id; // Hex SHA-256 of the file content
+    @Indexed
+    private String url; // URL of the stored asset
+    private String publicId; // Public ID of the asset in the media backend
+    private String resourceType; // "image", "video" or "raw"
+    private Double duration; // Length in seconds, for videos
+    private long size; // Size of the content in bytes
+    private int refCount; // Number of posts, profiles, challenges and files using this asset
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,34 @@
+package com.nexora.server.model;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * A pending deletion of a remote media asset (outbox entry).
+ * Entries are written on the request path and drained by MediaCleanupWorker.
+ */
+@Data
+@Document(collection = "media_deletions")
+@CompoundIndex(name = "status_nextAttemptAt", def = "{'status': 1, 'nextAttemptAt': 1}")
+public class MediaDeletion {
+
+    public enum Status {
+        PENDING, // Waiting for its next attempt
+        DEAD // Gave up after too many failed attempts
+    }
+
+    @Id
+    private String id;
+    private String publicId; // Public ID of the asset in the media backend
+    private String resourceType; // "image", "video" or "raw"
+    private Status status = Status.PENDING;
+    private int attempts; // Number of failed attempts so far
+    private LocalDateTime nextAttemptAt; // Earliest time of the next attempt
+    private String lastError; // Error of the last failed attempt
+    private String claimId; // Set by the cleanup run that holds the current lease
+    private LocalDateTime createdAt;
+}
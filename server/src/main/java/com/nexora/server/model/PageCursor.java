@@ -0,0 +1,111 @@
+package com.nexora.server.model;
+
+import org.springframework.data.mongodb.core.query.Criteria;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor made of a sort key and a document ID.
+ * The ID breaks ties between documents that share the same sort key.
+ */
+public final class PageCursor {
+
+    private static final char SEPARATOR = '|';
+
+    private final String sortKey;
+    private final String id;
+
+    private PageCursor(String sortKey, String id) {
+        this.sortKey = sortKey;
+        this.id = id;
+    }
+
+    /**
+     * Creates a cursor pointing at the given sort key and document ID.
+     */
+    public static PageCursor of(Object sortKey, String id) {
+        return new PageCursor(String.valueOf(sortKey), id);
+    }
+
+    /**
+     * Decodes a cursor previously produced by {@link #encode()}.
+     *
+     * @throws IllegalArgumentException if the token is malformed.
+     */
+    public static PageCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            if (separator <= 0 || separator == raw.length() - 1) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new PageCursor(raw.substring(0, separator), raw.substring(separator + 1));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    /**
+     * Encodes this cursor as a URL-safe token.
+     */
+    public String encode() {
+        String raw = sortKey + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public String getSortKey() {
+        return sortKey;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Reads the sort key as a timestamp.
+     */
+    public LocalDateTime sortKeyAsDateTime() {
+        try {
+            return LocalDateTime.parse(sortKey);
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    /**
+     * Reads the sort key as a number.
+     */
+    public double sortKeyAsDouble() {
+        try {
+            return Double.parseDouble(sortKey);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    /**
+     * Builds the criteria selecting documents strictly after this cursor
+     * for a descending sort on {@code field} followed by a descending sort on the ID.
+     */
+    public Criteria afterDescending(String field, Object sortValue) {
+        return new Criteria().orOperator(
+                Criteria.where(field).lt(sortValue),
+                new Criteria().andOperator(
+                        Criteria.where(field).is(sortValue),
+                        Criteria.where("id").lt(id)));
+    }
+
+    /**
+     * Builds the criteria selecting documents strictly after this cursor
+     * for an ascending sort on {@code field} followed by an ascending sort on the ID.
+     */
+    public Criteria afterAscending(String field, Object sortValue) {
+        return new Criteria().orOperator(
+                Criteria.where(field).gt(sortValue),
+                new Criteria().andOperator(
+                        Criteria.where(field).is(sortValue),
+                        Criteria.where("id").gt(id)));
+    }
+}
@@ -49,7 +49,9 @@ public class User {
   private List<String> followers = new ArrayList<>(); // List of user IDs who follow this user
   private List<String> following = new ArrayList<>(); // List of user IDs this user follows
   private List<SocialMediaLink> socialMedia = new ArrayList<>(); // List of social media links
-  private List<String> bookmarkedPosts = new ArrayList<>(); // List of post IDs bookmarked by user
+  // Post IDs bookmarked by user. Responses fill it from saved_posts; the stored array is only read by
+  // PostMigrations, which copies it into saved_posts and removes it, so it stays mapped until then
+  private List<String> bookmarkedPosts = new ArrayList<>();
   private List<String> savedQuestionIds = new ArrayList<>(); // List of saved question IDs
 
   private Role role; // User's role (e.g., ADMIN, USER)
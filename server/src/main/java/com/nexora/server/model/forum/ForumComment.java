@@ -2,6 +2,8 @@ package com.nexora.server.model.forum;
 
 import lombok.Data;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
@@ -13,6 +15,15 @@ import java.util.List;
  */
 @Data
 @Document(collection = "forum_comments")
+@CompoundIndexes({
+    // Backs comment threads: top-level comments (parentCommentId null) by time, the replies of a
+    // comment oldest first, and reply counts; _id breaks ties for the keyset cursor
+    @CompoundIndex(name = "questionId_parentCommentId_createdAt_id",
+            def = "{'questionId': 1, 'parentCommentId': 1, 'createdAt': 1, '_id': 1}"),
+    // Top-level comments by score
+    @CompoundIndex(name = "questionId_parentCommentId_score_id",
+            def = "{'questionId': 1, 'parentCommentId': 1, 'score': -1, '_id': -1}")
+})
 public class ForumComment {
     @Id
     private String id; // Unique identifier for the comment
@@ -26,6 +37,9 @@ public class ForumComment {
 
     private List<String> upvoteUserIds = new ArrayList<>(); // List of user IDs who upvoted this comment
     private List<String> downvoteUserIds = new ArrayList<>(); // List of user IDs who downvoted this comment
+    private int upvoteCount; // Denormalized size of upvoteUserIds, maintained by ForumVoteEngine
+    private int downvoteCount; // Denormalized size of downvoteUserIds, maintained by ForumVoteEngine
+    private int score; // upvoteCount - downvoteCount
 
     private LocalDateTime createdAt = LocalDateTime.now(); // Timestamp when the comment was created
     private LocalDateTime updatedAt; // Timestamp when the comment was last updated
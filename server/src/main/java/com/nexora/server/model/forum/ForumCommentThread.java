@@ -0,0 +1,14 @@
+package com.nexora.server.model.forum;
+
+import java.util.List;
+
+/**
+ * A comment with the number of direct replies it has and the first few of them.
+ *
+ * @param comment    the comment
+ * @param replyCount the number of direct replies to the comment
+ * @param replies    the oldest direct replies, up to the requested preview size; each carries its own
+ *                   reply count but no replies, which are loaded on demand
+ */
+public record ForumCommentThread(ForumComment comment, long replyCount, List<ForumCommentThread> replies) {
+}
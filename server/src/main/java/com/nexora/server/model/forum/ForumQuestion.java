@@ -1,6 +1,8 @@
 package com.nexora.server.model.forum;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -9,6 +11,18 @@ import java.util.List;
  * Represents a forum question document stored in the "questions" collection in MongoDB.
  */
 @Document(collection = "questions")
+@CompoundIndexes({
+    // Backs the question list: pinned first, then newest, then id desc as tie-breaker
+    @CompoundIndex(name = "isPinned_createdAt_id", def = "{'isPinned': -1, 'createdAt': -1, '_id': -1}"),
+    // Same ordering for one author's questions
+    @CompoundIndex(name = "authorId_isPinned_createdAt", def = "{'authorId': 1, 'isPinned': -1, 'createdAt': -1}"),
+    // Same ordering for the questions of one tag
+    @CompoundIndex(name = "tags_isPinned_createdAt", def = "{'tags': 1, 'isPinned': -1, 'createdAt': -1}"),
+    // Back the "mostCommented", "topVoted" and "hot" sorts
+    @CompoundIndex(name = "isPinned_commentCount_id", def = "{'isPinned': -1, 'commentCount': -1, '_id': -1}"),
+    @CompoundIndex(name = "isPinned_score_id", def = "{'isPinned': -1, 'score': -1, '_id': -1}"),
+    @CompoundIndex(name = "isPinned_hotScore_id", def = "{'isPinned': -1, 'hotScore': -1, '_id': -1}")
+})
 public class ForumQuestion {
     @Id
     private String id; // Unique identifier for the question
@@ -28,9 +42,16 @@ public class ForumQuestion {
     private LocalDateTime updatedAt; // Timestamp when the question was last updated
 
     private boolean isFlagged; // Indicates if the question is flagged for moderation
-    private int views; // Number of times the question has been viewed
+    private int views; // Number of times the question has been viewed, flushed in batches by ForumViewBuffer
+    private long uniqueViewers; // Estimated number of distinct viewers, from the question's HyperLogLog sketch
     private boolean isPinned; // Indicates if the question is pinned to the top
 
+    private int commentCount; // Number of comments and replies, maintained atomically by the comment service
+    private int upvoteCount; // Denormalized size of upvoteUserIds
+    private int downvoteCount; // Denormalized size of downvoteUserIds
+    private int score; // upvoteCount - downvoteCount
+    private double hotScore; // Vote score combined with age, see ForumHotScore
+
     // Getters and Setters
 
     /**
@@ -242,4 +263,88 @@ public class ForumQuestion {
     public void setPinned(boolean pinned) {
         this.isPinned = pinned;
     }
-}
\ No newline at end of file
+
+    /**
+     * Gets the number of comments and replies.
+     */
+    public int getCommentCount() {
+        return commentCount;
+    }
+
+    /**
+     * Sets the number of comments and replies.
+     */
+    public void setCommentCount(int commentCount) {
+        this.commentCount = commentCount;
+    }
+
+    /**
+     * Gets the number of upvotes.
+     */
+    public int getUpvoteCount() {
+        return upvoteCount;
+    }
+
+    /**
+     * Sets the number of upvotes.
+     */
+    public void setUpvoteCount(int upvoteCount) {
+        this.upvoteCount = upvoteCount;
+    }
+
+    /**
+     * Gets the number of downvotes.
+     */
+    public int getDownvoteCount() {
+        return downvoteCount;
+    }
+
+    /**
+     * Sets the number of downvotes.
+     */
+    public void setDownvoteCount(int downvoteCount) {
+        this.downvoteCount = downvoteCount;
+    }
+
+    /**
+     * Gets the vote score (upvotes minus downvotes).
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * Sets the vote score.
+     */
+    public void setScore(int score) {
+        this.score = score;
+    }
+
+    /**
+     * Gets the hot ranking score.
+     */
+    public double getHotScore() {
+        return hotScore;
+    }
+
+    /**
+     * Sets the hot ranking score.
+     */
+    public void setHotScore(double hotScore) {
+        this.hotScore = hotScore;
+    }
+
+    /**
+     * Gets the estimated number of distinct viewers.
+     */
+    public long getUniqueViewers() {
+        return uniqueViewers;
+    }
+
+    /**
+     * Sets the estimated number of distinct viewers.
+     */
+    public void setUniqueViewers(long uniqueViewers) {
+        this.uniqueViewers = uniqueViewers;
+    }
+}
@@ -0,0 +1,11 @@
+package com.nexora.server.model.post;
+
+/**
+ * Outcome of toggling a like on a post.
+ *
+ * @param likeCount the number of likes after the toggle
+ * @param liked     whether the caller likes the post after the toggle
+ * @param authorId  the author of the post, used to address notifications
+ */
+public record LikeResult(int likeCount, boolean liked, String authorId) {
+}
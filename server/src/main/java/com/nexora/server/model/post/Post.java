@@ -1,8 +1,15 @@
 package com.nexora.server.model.post;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Data;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Transient;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.TextIndexed;
 import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.TextScore;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -10,18 +17,42 @@ import java.util.List;
 
 @Data
 @Document(collection = "sposts")
+@CompoundIndexes({
+    // Backs keyset pagination of the feed: createdAt desc, then id desc as tie-breaker
+    @CompoundIndex(name = "createdAt_id", def = "{'createdAt': -1, '_id': -1}"),
+    // Backs fan-out-on-read of large accounts' posts into home timelines
+    @CompoundIndex(name = "userId_createdAt", def = "{'userId': 1, 'createdAt': -1}"),
+    // Backs the hot feed: hotScore desc, then id desc as tie-breaker
+    @CompoundIndex(name = "hotScore_id", def = "{'hotScore': -1, '_id': -1}")
+})
 public class Post {
     @Id
     private String id;
     private String userId;
-    private String userName;
+    @TextIndexed
+    private String userName; // Author name for search, updated on every post when the author is renamed
+    @Transient
+    private String userProfilePhotoUrl; // Filled in from the author's profile when posts are listed
+    @TextIndexed(weight = 3)
     private String description;
     private List<Media> media = new ArrayList<>();
     private List<String> likes = new ArrayList<>();
-    private List<Comment> comments = new ArrayList<>();
+    private int likeCount; // Denormalized size of likes, maintained atomically with it
+    private int commentCount; // Number of comments in the post_comments collection
+    private List<Comment> recentComments = new ArrayList<>(); // Latest comments, newest first
     private List<String> savedBy = new ArrayList<>(); // New field to track users who saved the post
+    private int saveCount; // Number of saved_posts entries for this post
+    private long viewCount; // Times the post was opened, flushed in batches by PostStatsBuffer
+    private long impressionCount; // Times the post was shown in a feed or search page, flushed by PostStatsBuffer
     private LocalDateTime createdAt;
+    private double hotScore; // Time-decayed engagement score, refreshed by HotScoreRefresher
+    @Version
+    private Long version; // Bumped on every change to the post; backs its ETag
+    @TextScore
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Double score; // Text search relevance, only set on search results
 
+    // Preview copy of a PostComment
     @Data
     public static class Comment {
         private String id;
@@ -0,0 +1,25 @@
+package com.nexora.server.model.post;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * A comment on a post, stored in its own collection so posts stay small.
+ * The post keeps a commentCount and a preview of its latest comments.
+ */
+@Data
+@Document(collection = "post_comments")
+@CompoundIndex(name = "postId_createdAt", def = "{'postId': 1, 'createdAt': -1, '_id': -1}")
+public class PostComment {
+    @Id
+    private String id;
+    private String postId; // The post this comment belongs to
+    private String userId; // Author of the comment
+    private String name; // Author's name at the time of commenting
+    private String text;
+    private LocalDateTime createdAt;
+}
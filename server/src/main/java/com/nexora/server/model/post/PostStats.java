@@ -0,0 +1,15 @@
+package com.nexora.server.model.post;
+
+/**
+ * Engagement numbers of a post, including views and impressions not yet flushed to the database.
+ *
+ * @param postId          the post ID
+ * @param viewCount       times the post was opened
+ * @param impressionCount times the post was shown in a feed or search page
+ * @param likeCount       number of likes
+ * @param commentCount    number of comments
+ * @param saveCount       number of saves
+ */
+public record PostStats(String postId, long viewCount, long impressionCount,
+                        int likeCount, int commentCount, int saveCount) {
+}
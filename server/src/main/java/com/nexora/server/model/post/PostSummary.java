@@ -0,0 +1,49 @@
+package com.nexora.server.model.post;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Compact view of a post for feed listings. Carries counts and the caller's own
+ * liked/saved flags instead of the full likes and savedBy arrays.
+ *
+ * @param id             the post ID
+ * @param author         the post's author
+ * @param description    the post text
+ * @param media          the attached photos or videos
+ * @param likeCount      number of likes
+ * @param commentCount   number of comments
+ * @param saveCount      number of saves
+ * @param liked          whether the caller likes the post
+ * @param saved          whether the caller saved the post
+ * @param recentComments the latest comments, newest first
+ * @param createdAt      when the post was created
+ */
+public record PostSummary(String id, Author author, String description, List<Post.Media> media,
+                          int likeCount, int commentCount, int saveCount, boolean liked, boolean saved,
+                          List<Post.Comment> recentComments, LocalDateTime createdAt) {
+
+    /**
+     * Author details shown next to a post.
+     */
+    public record Author(String id, String name, String profilePhotoUrl) {
+    }
+
+    /**
+     * Builds the summary of a post loaded with the summary projection, in which
+     * likes and savedBy hold at most the caller's own ID.
+     *
+     * @param post     the projected post, with author details already hydrated
+     * @param viewerId the caller's user ID, or null for anonymous callers
+     * @return the summary
+     */
+    public static PostSummary of(Post post, String viewerId) {
+        boolean liked = viewerId != null && post.getLikes() != null && post.getLikes().contains(viewerId);
+        boolean saved = viewerId != null && post.getSavedBy() != null && post.getSavedBy().contains(viewerId);
+        return new PostSummary(post.getId(),
+                new Author(post.getUserId(), post.getUserName(), post.getUserProfilePhotoUrl()),
+                post.getDescription(), post.getMedia(),
+                post.getLikeCount(), post.getCommentCount(), post.getSaveCount(), liked, saved,
+                post.getRecentComments(), post.getCreatedAt());
+    }
+}
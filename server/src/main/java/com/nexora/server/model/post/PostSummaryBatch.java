@@ -0,0 +1,12 @@
+package com.nexora.server.model.post;
+
+import java.util.List;
+
+/**
+ * Result of fetching several posts by ID.
+ *
+ * @param items   one summary per requested ID, in request order; null where the post does not exist
+ * @param missing the requested IDs that do not exist, in request order
+ */
+public record PostSummaryBatch(List<PostSummary> items, List<String> missing) {
+}
@@ -0,0 +1,29 @@
+package com.nexora.server.model.post;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * A post saved (bookmarked) by a user. The ID is derived from the user and the post,
+ * so saving the same post twice hits the unique _id index instead of creating a duplicate.
+ */
+@Data
+@Document(collection = "saved_posts")
+@CompoundIndex(name = "userId_savedAt", def = "{'userId': 1, 'savedAt': -1, '_id': -1}")
+public class SavedPost {
+    @Id
+    private String id;
+    private String userId; // The user who saved the post
+    @Indexed
+    private String postId; // The saved post
+    private LocalDateTime savedAt;
+
+    public static String idOf(String userId, String postId) {
+        return userId + ":" + postId;
+    }
+}
@@ -0,0 +1,28 @@
+package com.nexora.server.model.post;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Materialized home timeline of a user: the newest posts from the accounts they follow.
+ * Entries are kept newest first and capped in size when written.
+ */
+@Data
+@Document(collection = "timelines")
+public class Timeline {
+    @Id
+    private String userId; // Owner of the timeline
+    private List<Entry> entries = new ArrayList<>(); // Newest first
+
+    @Data
+    public static class Entry {
+        private String postId;
+        private String authorId;
+        private LocalDateTime createdAt;
+    }
+}
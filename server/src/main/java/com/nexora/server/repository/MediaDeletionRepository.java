@@ -0,0 +1,17 @@
+package com.nexora.server.repository;
+
+import com.nexora.server.model.MediaDeletion;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface MediaDeletionRepository extends MongoRepository<MediaDeletion, String> {
+    List<MediaDeletion> findByStatusAndNextAttemptAtLessThanEqualOrderByNextAttemptAt(
+            MediaDeletion.Status status, LocalDateTime now, Pageable pageable);
+
+    long countByStatus(MediaDeletion.Status status);
+}
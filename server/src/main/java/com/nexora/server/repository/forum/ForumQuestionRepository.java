@@ -11,9 +11,5 @@ import java.util.List;
 public interface ForumQuestionRepository extends MongoRepository<ForumQuestion, String> {
     List<ForumQuestion> findByTagsIn(List<String> tags); // Updated to search by tag names
 
-    List<ForumQuestion> findByTitleContainingIgnoreCaseOrDescriptionContainingIgnoreCase(String title, String description);
-
-    List<ForumQuestion> findByAuthorId(String authorId);
-
     List<ForumQuestion> findByIsFlaggedTrue();
 }
\ No newline at end of file
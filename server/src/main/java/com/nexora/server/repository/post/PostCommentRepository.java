@@ -0,0 +1,14 @@
+package com.nexora.server.repository.post;
+
+import com.nexora.server.model.post.PostComment;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface PostCommentRepository extends MongoRepository<PostComment, String> {
+    List<PostComment> findTop3ByPostIdOrderByCreatedAtDesc(String postId);
+
+    void deleteByPostId(String postId);
+}
@@ -0,0 +1,58 @@
+package com.nexora.server.repository.post;
+
+import com.nexora.server.model.post.LikeResult;
+import com.nexora.server.model.post.Post;
+
+import java.util.List;
+
+/**
+ * Atomic, partial updates on posts that must not rewrite the whole document.
+ */
+public interface PostRepositoryCustom {
+
+    /**
+     * Likes the post if the user has not liked it yet, otherwise removes the like.
+     * The likes array and likeCount are updated together in a single atomic operation.
+     *
+     * @param postId the ID of the post
+     * @param userId the ID of the user toggling the like
+     * @return the new like count and liked state, or null if the post does not exist
+     */
+    LikeResult toggleLike(String postId, String userId);
+
+    /**
+     * Increments commentCount and adds the comment to the front of the recent comments preview.
+     *
+     * @param postId  the ID of the post
+     * @param comment the preview copy of the new comment
+     * @return the updated post, or null if the post does not exist
+     */
+    Post addCommentToPreview(String postId, Post.Comment comment);
+
+    /**
+     * Changes the text of a comment in the recent comments preview, if it is shown there.
+     *
+     * @param postId    the ID of the post
+     * @param commentId the ID of the comment
+     * @param text      the new text
+     */
+    void updateCommentInPreview(String postId, String commentId, String text);
+
+    /**
+     * Decrements commentCount after a comment was deleted.
+     *
+     * @param postId the ID of the post
+     * @return the updated post, or null if the post does not exist
+     */
+    Post decrementCommentCount(String postId);
+
+    /**
+     * Replaces the recent comments preview, optionally only if the post is still at the given version.
+     *
+     * @param postId          the ID of the post
+     * @param expectedVersion the version the preview was read at, or null to replace it unconditionally
+     * @param recentComments  the new preview, newest first
+     * @return the updated post, or null if the post does not exist or has moved past the version
+     */
+    Post replaceCommentPreview(String postId, Long expectedVersion, List<Post.Comment> recentComments);
+}
@@ -0,0 +1,106 @@
+package com.nexora.server.repository.post;
+
+import com.nexora.server.model.post.LikeResult;
+import com.nexora.server.model.post.Post;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.List;
+
+/**
+ * MongoTemplate-backed implementation of {@link PostRepositoryCustom}.
+ * Every update bumps the post's version so its ETag changes.
+ */
+public class PostRepositoryImpl implements PostRepositoryCustom {
+
+    // Number of latest comments embedded in a post as a preview
+    public static final int COMMENT_PREVIEW_SIZE = 3;
+
+    // A like and an unlike can race between the two conditional updates; retry a few times
+    private static final int MAX_TOGGLE_ATTEMPTS = 5;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Override
+    public LikeResult toggleLike(String postId, String userId) {
+        for (int attempt = 0; attempt < MAX_TOGGLE_ATTEMPTS; attempt++) {
+            Post liked = mongoTemplate.findAndModify(
+                    countersQuery(Criteria.where("id").is(postId).and("likes").ne(userId)),
+                    new Update().addToSet("likes", userId).inc("likeCount", 1).inc("version", 1),
+                    FindAndModifyOptions.options().returnNew(true),
+                    Post.class);
+            if (liked != null) {
+                return new LikeResult(liked.getLikeCount(), true, liked.getUserId());
+            }
+
+            Post unliked = mongoTemplate.findAndModify(
+                    countersQuery(Criteria.where("id").is(postId).and("likes").is(userId)),
+                    new Update().pull("likes", userId).inc("likeCount", -1).inc("version", 1),
+                    FindAndModifyOptions.options().returnNew(true),
+                    Post.class);
+            if (unliked != null) {
+                return new LikeResult(unliked.getLikeCount(), false, unliked.getUserId());
+            }
+
+            if (!mongoTemplate.exists(new Query(Criteria.where("id").is(postId)), Post.class)) {
+                return null;
+            }
+        }
+        throw new IllegalStateException("Could not toggle like due to concurrent updates");
+    }
+
+    @Override
+    public Post addCommentToPreview(String postId, Post.Comment comment) {
+        Update update = new Update().inc("commentCount", 1).inc("version", 1);
+        update.push("recentComments").atPosition(Update.Position.FIRST).slice(COMMENT_PREVIEW_SIZE).each(comment);
+        return mongoTemplate.findAndModify(
+                new Query(Criteria.where("id").is(postId)),
+                update,
+                FindAndModifyOptions.options().returnNew(true),
+                Post.class);
+    }
+
+    @Override
+    public void updateCommentInPreview(String postId, String commentId, String text) {
+        mongoTemplate.updateFirst(
+                new Query(Criteria.where("id").is(postId).and("recentComments.id").is(commentId)),
+                new Update().set("recentComments.$.text", text).inc("version", 1),
+                Post.class);
+    }
+
+    @Override
+    public Post decrementCommentCount(String postId) {
+        return mongoTemplate.findAndModify(
+                new Query(Criteria.where("id").is(postId)),
+                new Update().inc("commentCount", -1).inc("version", 1),
+                FindAndModifyOptions.options().returnNew(true),
+                Post.class);
+    }
+
+    @Override
+    public Post replaceCommentPreview(String postId, Long expectedVersion, List<Post.Comment> recentComments) {
+        Criteria criteria = Criteria.where("id").is(postId);
+        if (expectedVersion != null) {
+            criteria.and("version").is(expectedVersion);
+        }
+        return mongoTemplate.findAndModify(
+                new Query(criteria),
+                new Update().set("recentComments", recentComments).inc("version", 1),
+                FindAndModifyOptions.options().returnNew(true),
+                Post.class);
+    }
+
+    /**
+     * Builds a query that only returns the fields needed to report a like toggle.
+     */
+    private Query countersQuery(Criteria criteria) {
+        Query query = new Query(criteria);
+        query.fields().include("likeCount", "userId");
+        return query;
+    }
+}
@@ -0,0 +1,10 @@
+package com.nexora.server.repository.post;
+
+import com.nexora.server.model.post.SavedPost;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface SavedPostRepository extends MongoRepository<SavedPost, String> {
+    void deleteByPostId(String postId);
+}
@@ -0,0 +1,119 @@
+package com.nexora.server.service;
+
+import com.nexora.server.model.Role;
+import com.nexora.server.model.User;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Resolves user roles for permission checks, such as moderators editing other people's forum posts.
+ * Roles are cached per user for a short time, so a request that checks permissions several times
+ * reads the user at most once. The cache holds at most max-size users; entries expire after the
+ * TTL, which also bounds how long a role change made through another instance goes unnoticed.
+ * Role changes made here are applied at once through {@link #invalidate(String)}.
+ *
+ * Metrics: authorization.role.cache.requests{result=hit|miss}, authorization.role.cache.size and
+ * authorization.role.cache.hit.ratio.
+ */
+@Service
+public class AuthorizationService {
+
+    private final MongoTemplate mongoTemplate;
+    private final long ttlNanos;
+    private final int maxSize;
+    private final Map<String, CachedRole> roles = new ConcurrentHashMap<>();
+    // Bumped by every invalidation, so a lookup that raced with one does not cache a stale role
+    private final AtomicLong invalidations = new AtomicLong();
+    private final Counter hits;
+    private final Counter misses;
+
+    public AuthorizationService(MongoTemplate mongoTemplate, MeterRegistry meterRegistry,
+                                @Value("${nexora.authorization.role-cache.ttl-seconds:60}") long ttlSeconds,
+                                @Value("${nexora.authorization.role-cache.max-size:10000}") int maxSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        this.maxSize = maxSize;
+        this.hits = meterRegistry.counter("authorization.role.cache.requests", "result", "hit");
+        this.misses = meterRegistry.counter("authorization.role.cache.requests", "result", "miss");
+        Gauge.builder("authorization.role.cache.size", roles, Map::size).register(meterRegistry);
+        Gauge.builder("authorization.role.cache.hit.ratio", this, service -> service.hitRatio()).register(meterRegistry);
+    }
+
+    /**
+     * Returns the role of a user.
+     *
+     * @return the role, or null if the user does not exist or has none
+     */
+    public Role roleOf(String userId) {
+        if (userId == null) {
+            return null;
+        }
+        long now = System.nanoTime();
+        CachedRole cached = roles.get(userId);
+        if (cached != null && now - cached.loadedAt < ttlNanos) {
+            hits.increment();
+            return cached.role;
+        }
+        misses.increment();
+
+        long generation = invalidations.get();
+        Query query = new Query(Criteria.where("id").is(userId));
+        query.fields().include("role");
+        User user = mongoTemplate.findOne(query, User.class);
+        Role role = user == null ? null : user.getRole();
+        if (roles.size() >= maxSize) {
+            evict(now);
+        }
+        // Checked under the entry's lock, so an invalidation can't slip in between the check and the put
+        roles.compute(userId, (id, current) ->
+                invalidations.get() == generation ? new CachedRole(role, now) : current);
+        return role;
+    }
+
+    /**
+     * Checks if a user is an admin or moderator.
+     */
+    public boolean isAdminOrModerator(String userId) {
+        Role role = roleOf(userId);
+        return role == Role.ADMIN || role == Role.MODERATOR;
+    }
+
+    /**
+     * Forgets the cached role of a user. Call it whenever a user's role changes or the user is deleted.
+     */
+    public void invalidate(String userId) {
+        invalidations.incrementAndGet();
+        roles.remove(userId);
+    }
+
+    double hitRatio() {
+        double total = hits.count() + misses.count();
+        return total == 0 ? 0 : hits.count() / total;
+    }
+
+    // Drops expired entries, then live ones until a tenth of the room is free, so eviction stays rare
+    private void evict(long now) {
+        roles.values().removeIf(cached -> now - cached.loadedAt >= ttlNanos);
+        Iterator<String> iterator = roles.keySet().iterator();
+        int excess = roles.size() - maxSize + Math.max(1, maxSize / 10);
+        while (excess-- > 0 && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    private record CachedRole(Role role, long loadedAt) {
+    }
+}
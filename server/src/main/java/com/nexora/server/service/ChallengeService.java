@@ -1,9 +1,10 @@
 package com.nexora.server.service;
 
-import com.cloudinary.Cloudinary;
 import com.cloudinary.utils.ObjectUtils;
 import com.nexora.server.model.Challenge;
+import com.nexora.server.model.MediaAsset;
 import com.nexora.server.repository.ChallengeRepository;
+import com.nexora.server.service.media.MediaRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
@@ -11,7 +12,6 @@ import org.springframework.web.multipart.MultipartFile;
 import java.io.IOException;
 import java.time.LocalDate;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -22,7 +22,7 @@ public class ChallengeService {
     private ChallengeRepository challengeRepository;
 
     @Autowired
-    private Cloudinary cloudinary;
+    private MediaRegistry mediaRegistry;
 
     public Challenge createChallenge(String title, String description, String theme,
                                     LocalDate startDate, LocalDate endDate, String createdBy,
@@ -34,7 +34,7 @@ public class ChallengeService {
         // Generate unique challenge ID
         String challengeId = UUID.randomUUID().toString();
 
-        // Handle photo upload to Cloudinary
+        // Handle photo upload to the media store
         String photoUrl = savePhoto(photo, challengeId);
 
         // Create and save challenge
@@ -68,10 +68,10 @@ public class ChallengeService {
             if (startDate != null) challenge.setStartDate(startDate);
             if (endDate != null) challenge.setEndDate(endDate);
             if (photo != null && !photo.isEmpty()) {
-                // Delete old photo from Cloudinary if exists
+                // Delete old photo from the media store if exists
                 if (challenge.getPhotoUrl() != null) {
                     String publicId = extractPublicId(challenge.getPhotoUrl());
-                    cloudinary.uploader().destroy(publicId, ObjectUtils.emptyMap());
+                    mediaRegistry.release(challenge.getPhotoUrl(), publicId, "image");
                 }
                 // Upload new photo
                 String photoUrl = savePhoto(photo, challengeId);
@@ -85,11 +85,11 @@ public class ChallengeService {
     public void deleteChallenge(String challengeId, String createdBy) throws IOException {
         Optional<Challenge> challenge = challengeRepository.findById(challengeId);
         if (challenge.isPresent() && challenge.get().getCreatedBy().equals(createdBy)) {
-            // Delete photo from Cloudinary if exists
+            // Delete photo from the media store if exists
             String photoUrl = challenge.get().getPhotoUrl();
             if (photoUrl != null) {
                 String publicId = extractPublicId(photoUrl);
-                cloudinary.uploader().destroy(publicId, ObjectUtils.emptyMap());
+                mediaRegistry.release(photoUrl, publicId, "image");
             }
             challengeRepository.deleteById(challengeId);
         } else {
@@ -104,12 +104,12 @@ public class ChallengeService {
         String fileName = challengeId + "_" + photo.getOriginalFilename();
         String folder = "challenges/";
 
-        // Upload to Cloudinary
-        Map uploadResult = cloudinary.uploader().upload(photo.getBytes(),
+        // Upload to the media store, reusing an identical photo if one was uploaded before
+        MediaAsset asset = mediaRegistry.upload(photo,
                 ObjectUtils.asMap("folder", folder, "public_id", fileName));
 
         // Return the secure URL
-        return (String) uploadResult.get("secure_url");
+        return asset.getUrl();
     }
 
     private String extractPublicId(String fileUrl) {
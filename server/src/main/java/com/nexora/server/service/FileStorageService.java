@@ -1,9 +1,10 @@
 package com.nexora.server.service;
 
-import com.cloudinary.Cloudinary;
 import com.cloudinary.utils.ObjectUtils;
 import com.nexora.server.model.FileMetadata;
+import com.nexora.server.model.MediaAsset;
 import com.nexora.server.repository.FileMetadataRepository;
+import com.nexora.server.service.media.MediaRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
@@ -11,7 +12,6 @@ import org.springframework.web.multipart.MultipartFile;
 import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -19,22 +19,22 @@ import java.util.UUID;
 public class FileStorageService {
 
     @Autowired
-    private Cloudinary cloudinary;
+    private FileMetadataRepository fileMetadataRepository;
 
     @Autowired
-    private FileMetadataRepository fileMetadataRepository;
+    private MediaRegistry mediaRegistry;
 
     // Upload File
     public FileMetadata uploadFile(MultipartFile file, String skillType) throws IOException {
         String fileName = UUID.randomUUID().toString() + "_" + file.getOriginalFilename();
         String folder = file.getContentType() != null && file.getContentType().startsWith("image") ? "images/" : "pdfs/";
 
-        // Upload to Cloudinary
-        Map uploadResult = cloudinary.uploader().upload(file.getBytes(),
+        // Upload to the media store, reusing an identical file if one was uploaded before
+        MediaAsset asset = mediaRegistry.upload(file,
                 ObjectUtils.asMap("folder", folder, "public_id", fileName));
 
-        // Get the Cloudinary URL
-        String fileUrl = (String) uploadResult.get("secure_url");
+        // Get the stored URL
+        String fileUrl = asset.getUrl();
 
         // Save metadata in MongoDB
         FileMetadata metadata = new FileMetadata();
@@ -66,18 +66,15 @@ public class FileStorageService {
             String oldFileUrl = existingFile.getFileUrl();
             String oldPublicId = extractPublicId(oldFileUrl);
 
-            // Delete old file from Cloudinary
-            cloudinary.uploader().destroy(oldPublicId, ObjectUtils.emptyMap());
-
             // Upload new file
             String newFileName = UUID.randomUUID().toString() + "_" + newFile.getOriginalFilename();
             String folder = newFile.getContentType() != null && newFile.getContentType().startsWith("image") ? "images/" : "pdfs/";
 
-            Map uploadResult = cloudinary.uploader().upload(newFile.getBytes(),
+            MediaAsset asset = mediaRegistry.upload(newFile,
                     ObjectUtils.asMap("folder", folder, "public_id", newFileName));
 
             // Get new file URL
-            String newFileUrl = (String) uploadResult.get("secure_url");
+            String newFileUrl = asset.getUrl();
 
             // Update metadata
             existingFile.setFileName(newFileName);
@@ -85,38 +82,29 @@ public class FileStorageService {
             existingFile.setFileType(newFile.getContentType());
             existingFile.setSkillType(skillType);
             existingFile.setUploadedAt(LocalDateTime.now());
+            FileMetadata savedFile = fileMetadataRepository.save(existingFile);
 
-            return fileMetadataRepository.save(existingFile);
+            // Release the old file; it is deleted in the background once nothing else uses it
+            mediaRegistry.release(oldFileUrl, oldPublicId, "image");
+
+            return savedFile;
         } else {
             throw new RuntimeException("File not found.");
         }
     }
 
-    // Delete File (Removes from Cloudinary and MongoDB)
+    // Delete File (Removes from MongoDB and queues removal from the media store)
     public boolean deleteFile(String fileId) {
         Optional<FileMetadata> fileMetadataOptional = fileMetadataRepository.findById(fileId);
 
         if (fileMetadataOptional.isPresent()) {
             FileMetadata fileMetadata = fileMetadataOptional.get();
-            try {
-                String fileUrl = fileMetadata.getFileUrl();
-                String publicId = extractPublicId(fileUrl);
-
-                // Delete from Cloudinary
-                Map result = cloudinary.uploader().destroy(publicId, ObjectUtils.emptyMap());
-
-                if ("ok".equals(result.get("result"))) {
-                    fileMetadataRepository.deleteById(fileId);
-                    System.out.println("File deleted successfully from Cloudinary and MongoDB.");
-                    return true;
-                } else {
-                    System.err.println("Failed to delete file from Cloudinary.");
-                    return false;
-                }
-            } catch (Exception e) {
-                System.err.println("Error deleting file: " + e.getMessage());
-                return false;
-            }
+            String publicId = extractPublicId(fileMetadata.getFileUrl());
+            fileMetadataRepository.deleteById(fileId);
+
+            // Release the file; it is deleted from the media store in the background once nothing else uses it
+            mediaRegistry.release(fileMetadata.getFileUrl(), publicId, "image");
+            return true;
         } else {
             System.err.println("File not found in MongoDB.");
             return false;
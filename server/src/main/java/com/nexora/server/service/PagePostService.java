@@ -1,19 +1,104 @@
 package com.nexora.server.service;
 
+import com.nexora.server.model.CursorPage;
+import com.nexora.server.model.PageCursor;
 import com.nexora.server.model.post.Post;
 import com.nexora.server.repository.post.PostRepository;
+import com.nexora.server.service.post.PostStatsBuffer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 @Service
 public class PagePostService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final Sort HOT_SORT = Sort.by(Sort.Order.desc("hotScore"), Sort.Order.desc("id"));
+
     @Autowired
     private PostRepository postRepository;
 
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private PostStatsBuffer postStatsBuffer;
+
     public Page<Post> getAllPosts(Pageable pageable) {
-        return postRepository.findAll(pageable);
+        Page<Post> page = postRepository.findAll(pageable);
+        recordImpressions(page.getContent());
+        return page;
+    }
+
+    /**
+     * Returns the page of newest posts that follows the given cursor.
+     * Uses the (createdAt, _id) index and never issues a count query.
+     *
+     * @param cursor opaque cursor from a previous page, or null/blank for the first page
+     * @param limit  maximum number of posts to return
+     * @return the posts and the cursor of the next page
+     */
+    public CursorPage<Post> getPostsAfter(String cursor, int limit) {
+        int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        Query query = new Query();
+        if (cursor != null && !cursor.isBlank()) {
+            PageCursor after = PageCursor.decode(cursor);
+            query.addCriteria(after.afterDescending("createdAt", after.sortKeyAsDateTime()));
+        }
+        query.with(Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"))).limit(pageSize + 1);
+
+        CursorPage<Post> page = CursorPage.of(mongoTemplate.find(query, Post.class), pageSize,
+                post -> PageCursor.of(post.getCreatedAt(), post.getId()));
+        recordImpressions(page.items());
+        return page;
+    }
+
+    /**
+     * Returns a page of posts ranked by their precomputed hot score.
+     *
+     * @param pageable page number and size; any sort is replaced by the hot ranking
+     * @return the hottest posts on that page
+     */
+    public List<Post> getHotPosts(Pageable pageable) {
+        Query query = new Query()
+                .with(PageRequest.of(pageable.getPageNumber(), Math.min(pageable.getPageSize(), MAX_PAGE_SIZE), HOT_SORT));
+        List<Post> posts = mongoTemplate.find(query, Post.class);
+        recordImpressions(posts);
+        return posts;
+    }
+
+    /**
+     * Returns the page of hottest posts that follows the given cursor.
+     * Reads the (hotScore, _id) index only; scores are kept fresh by HotScoreRefresher,
+     * so a post whose score changes between two pages may move across the cursor.
+     *
+     * @param cursor opaque cursor from a previous page, or null/blank for the first page
+     * @param limit  maximum number of posts to return
+     * @return the posts and the cursor of the next page
+     */
+    public CursorPage<Post> getHotPostsAfter(String cursor, int limit) {
+        int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        Query query = new Query();
+        if (cursor != null && !cursor.isBlank()) {
+            PageCursor after = PageCursor.decode(cursor);
+            query.addCriteria(after.afterDescending("hotScore", after.sortKeyAsDouble()));
+        }
+        query.with(HOT_SORT).limit(pageSize + 1);
+
+        CursorPage<Post> page = CursorPage.of(mongoTemplate.find(query, Post.class), pageSize,
+                post -> PageCursor.of(post.getHotScore(), post.getId()));
+        recordImpressions(page.items());
+        return page;
+    }
+
+    private void recordImpressions(List<Post> posts) {
+        postStatsBuffer.recordImpressions(posts.stream().map(Post::getId).toList());
     }
-}
\ No newline at end of file
+}
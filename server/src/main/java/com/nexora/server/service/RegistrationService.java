@@ -1,10 +1,10 @@
 package com.nexora.server.service;
 
-import com.cloudinary.Cloudinary;
 import com.nexora.server.controller.UserRequest;
 import com.nexora.server.model.Role;
 import com.nexora.server.model.User;
 import com.nexora.server.repository.UserRepository;
+import com.nexora.server.service.media.MediaRegistry;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -39,7 +39,7 @@ public class RegistrationService {
     private JavaMailSender mailSender;
 
     @Autowired
-    private Cloudinary cloudinary;
+    private MediaRegistry mediaRegistry;
 
     @Value("${jwt.secret}")
     private String jwtSecret;
@@ -86,10 +86,7 @@ public class RegistrationService {
 
         // Handle profile photo upload if provided
         if (profilePhoto != null && !profilePhoto.isEmpty()) {
-            @SuppressWarnings("unchecked")
-            Map<String, Object> uploadResult = cloudinary.uploader().upload(profilePhoto.getBytes(),
-                    Map.of("folder", "profile_photos"));
-            user.setProfilePhotoUrl(uploadResult.get("url").toString());
+            user.setProfilePhotoUrl(mediaRegistry.upload(profilePhoto, Map.of("folder", "profile_photos")).getUrl());
         } else if (userRequest.profilePhotoBase64() != null && !userRequest.profilePhotoBase64().isBlank()) {
             // Optional: Handle base64 image if needed
             throw new UnsupportedOperationException("Base64 image upload not implemented");
@@ -134,10 +131,7 @@ public class RegistrationService {
 
         // Handle profile photo upload if provided
         if (profilePhoto != null && !profilePhoto.isEmpty()) {
-            @SuppressWarnings("unchecked")
-            Map<String, Object> uploadResult = cloudinary.uploader().upload(profilePhoto.getBytes(),
-                    Map.of("folder", "profile_photos"));
-            user.setProfilePhotoUrl(uploadResult.get("url").toString());
+            user.setProfilePhotoUrl(mediaRegistry.upload(profilePhoto, Map.of("folder", "profile_photos")).getUrl());
         } else if (user.getProfilePhotoUrl() != null) {
             user.setProfilePhotoUrl(user.getProfilePhotoUrl());
         }
@@ -1,8 +1,11 @@
 package com.nexora.server.service;
 
-import com.cloudinary.Cloudinary;
+import com.nexora.server.model.Role;
 import com.nexora.server.model.User;
+import com.nexora.server.model.post.Post;
 import com.nexora.server.repository.UserRepository;
+import com.nexora.server.service.post.TimelineService;
+import com.nexora.server.service.media.MediaRegistry;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -14,6 +17,8 @@ import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.aggregation.Aggregation;
 import org.springframework.data.mongodb.core.aggregation.AggregationResults;
 import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
@@ -42,7 +47,13 @@ public class UserService {
     private PasswordEncoder passwordEncoder;
 
     @Autowired
-    private Cloudinary cloudinary;
+    private MediaRegistry mediaRegistry;
+
+    @Autowired
+    private AuthorizationService authorizationService;
+
+    @Autowired
+    private TimelineService timelineService;
 
     @Value("${jwt.secret}")
     private String jwtSecret;
@@ -130,6 +141,7 @@ public class UserService {
 
         userRepository.save(user);
         userRepository.save(target);
+        timelineService.removeAuthor(userId, targetUserId);
 
         return "Successfully unfollowed user";
     }
@@ -147,23 +159,55 @@ public class UserService {
     }
 
     /**
-     * Upload a file to Cloudinary and return its URL.
+     * Upload a file to the media store and return its URL.
+     * Identical images share one asset through the media registry.
      */
     public String uploadFile(MultipartFile file) {
         try {
-            Map<String, Object> uploadResult = cloudinary.uploader().upload(file.getBytes(),
-                    Map.of("folder", "profile_photos"));
-            return uploadResult.get("url").toString();
+            return mediaRegistry.upload(file, Map.of("folder", "profile_photos")).getUrl();
         } catch (Exception e) {
             throw new RuntimeException("Failed to upload file: " + e.getMessage());
         }
     }
 
+    /**
+     * Release a file previously returned by {@link #uploadFile}, once it is no longer used.
+     * Images uploaded before the media registry existed are left untouched.
+     */
+    public void releaseFile(String url) {
+        mediaRegistry.release(url, null, null);
+    }
+
     /**
      * Save or update a user.
      */
     public void save(User user) {
         userRepository.save(user);
+        // The role may have been edited along with the rest of the user
+        authorizationService.invalidate(user.getId());
+    }
+
+    /**
+     * Copies a user's new name onto their posts, whose stored userName backs the post search index.
+     * Listings already show the current name, so the posts' versions are left alone.
+     */
+    public void updatePostAuthorName(String userId, String name) {
+        mongoTemplate.updateMulti(new Query(Criteria.where("userId").is(userId).and("userName").ne(name)),
+                new Update().set("userName", name), Post.class);
+    }
+
+    /**
+     * Change a user's role. Only the role field is written, so a concurrent profile edit is not
+     * overwritten. Permission checks see the new role immediately.
+     */
+    public User changeRole(String userId, Role role) {
+        long matched = mongoTemplate.updateFirst(new Query(Criteria.where("id").is(userId)),
+                new Update().set("role", role), User.class).getMatchedCount();
+        if (matched == 0) {
+            throw new IllegalArgumentException("User not found");
+        }
+        authorizationService.invalidate(userId);
+        return findById(userId);
     }
 
     /**
@@ -175,6 +219,7 @@ public class UserService {
             throw new IllegalArgumentException("User not found");
         }
         userRepository.delete(user);
+        authorizationService.invalidate(userId);
         return "User deactivated successfully";
     }
 
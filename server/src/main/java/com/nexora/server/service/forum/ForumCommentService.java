@@ -1,21 +1,35 @@
 package com.nexora.server.service.forum;
 
-import com.nexora.server.model.Role;
+import com.nexora.server.model.CursorPage;
+import com.nexora.server.model.PageCursor;
 import com.nexora.server.model.User;
 import com.nexora.server.model.forum.ForumComment;
+import com.nexora.server.model.forum.ForumCommentThread;
 import com.nexora.server.model.forum.ForumNotification;
 import com.nexora.server.model.forum.ForumQuestion;
 import com.nexora.server.repository.UserRepository;
 import com.nexora.server.repository.forum.ForumCommentRepository;
 import com.nexora.server.repository.forum.ForumNotificationRepository;
 import com.nexora.server.repository.forum.ForumQuestionRepository;
+import com.nexora.server.service.AuthorizationService;
 import com.nexora.server.service.UserService;
 
+import org.bson.Document;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.logging.Logger;
 
@@ -27,6 +41,9 @@ import java.util.logging.Logger;
 public class ForumCommentService {
     private static final Logger LOGGER = Logger.getLogger(ForumCommentService.class.getName());
 
+    private static final int MAX_PAGE_SIZE = 50;
+    private static final int MAX_PREVIEW_REPLIES = 10;
+
     @Autowired
     private ForumCommentRepository commentRepository;
 
@@ -45,6 +62,15 @@ public class ForumCommentService {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private AuthorizationService authorizationService;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private ForumVoteEngine voteEngine;
+
     /**
      * Creates a new comment for a forum question or as a reply to another comment.
      * Sends a notification to the question author if applicable.
@@ -79,7 +105,14 @@ public class ForumCommentService {
         comment.setAuthorId(userId);
         comment.setAuthorName(user.getName());
         comment.setAuthorAvatarUrl(user.getProfilePhotoUrl());
+        // Votes only change through the vote engine
+        comment.setUpvoteUserIds(new ArrayList<>());
+        comment.setDownvoteUserIds(new ArrayList<>());
+        comment.setUpvoteCount(0);
+        comment.setDownvoteCount(0);
+        comment.setScore(0);
         ForumComment savedComment = commentRepository.save(comment);
+        incrementCommentCount(comment.getQuestionId(), 1);
         LOGGER.info("Comment created with ID: " + savedComment.getId());
 
         // Notify question author if not self-comment
@@ -116,18 +149,21 @@ public class ForumCommentService {
 
         ForumComment comment = commentOptional.get();
         // Check authorization
-        if (!comment.getAuthorId().equals(userId) && !isAdminOrModerator(userId)) {
+        if (!comment.getAuthorId().equals(userId) && !authorizationService.isAdminOrModerator(userId)) {
             throw new Exception("Unauthorized to edit this comment");
         }
 
         // Check 24-hour edit window
-        if (comment.getCreatedAt().plusHours(24).isBefore(LocalDateTime.now()) && !isAdminOrModerator(userId)) {
+        if (comment.getCreatedAt().plusHours(24).isBefore(LocalDateTime.now()) && !authorizationService.isAdminOrModerator(userId)) {
             throw new Exception("Edit time limit exceeded");
         }
 
-        comment.setContent(updatedComment.getContent());
-        comment.setUpdatedAt(LocalDateTime.now());
-        return commentRepository.save(comment);
+        // Only the edited fields are written, so votes cast meanwhile are kept
+        return mongoTemplate.findAndModify(
+                new Query(Criteria.where("id").is(commentId)),
+                new Update().set("content", updatedComment.getContent()).set("updatedAt", LocalDateTime.now()),
+                FindAndModifyOptions.options().returnNew(true),
+                ForumComment.class);
     }
 
     /**
@@ -145,19 +181,33 @@ public class ForumCommentService {
 
         ForumComment comment = commentOptional.get();
         // Check authorization
-        if (!comment.getAuthorId().equals(userId) && !isAdminOrModerator(userId)) {
+        if (!comment.getAuthorId().equals(userId) && !authorizationService.isAdminOrModerator(userId)) {
             throw new Exception("Unauthorized to delete this comment");
         }
 
         // Check 24-hour delete window
-        if (comment.getCreatedAt().plusHours(24).isBefore(LocalDateTime.now()) && !isAdminOrModerator(userId)) {
+        if (comment.getCreatedAt().plusHours(24).isBefore(LocalDateTime.now()) && !authorizationService.isAdminOrModerator(userId)) {
             throw new Exception("Delete time limit exceeded");
         }
 
-        commentRepository.deleteById(commentId);
+        // Only the request that actually deletes the comment decrements the count
+        long deleted = mongoTemplate.remove(new Query(Criteria.where("id").is(commentId)), ForumComment.class)
+                .getDeletedCount();
+        if (deleted != 1) {
+            throw new Exception("Comment not found");
+        }
+        incrementCommentCount(comment.getQuestionId(), -1);
         LOGGER.info("Comment deleted with ID: " + commentId);
     }
 
+    // Adjusts the question's denormalized comment count with an atomic $inc
+    private void incrementCommentCount(String questionId, int delta) {
+        mongoTemplate.updateFirst(
+                new Query(Criteria.where("id").is(questionId)),
+                new Update().inc("commentCount", delta),
+                ForumQuestion.class);
+    }
+
     /**
      * Retrieves all comments for a given question.
      *
@@ -168,6 +218,140 @@ public class ForumCommentService {
         return commentRepository.findByQuestionId(questionId);
     }
 
+    /**
+     * Retrieves a page of a question's top-level comments, each with its number of direct replies
+     * and the oldest few of them. Deeper replies are loaded with {@link #getReplies}.
+     *
+     * @param questionId The ID of the question.
+     * @param sortBy     "top" (score), "oldest" or "newest" (default).
+     * @param cursor     Opaque cursor from a previous page, or null/blank for the first page.
+     * @param limit      Maximum number of top-level comments.
+     * @param replyLimit Number of replies to include under each comment.
+     * @return The comment threads and the cursor of the next page.
+     * @throws IllegalArgumentException if the cursor is invalid.
+     */
+    public CursorPage<ForumCommentThread> getCommentThreads(String questionId, String sortBy, String cursor,
+                                                            int limit, int replyLimit) {
+        int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        int previewSize = Math.min(Math.max(replyLimit, 0), MAX_PREVIEW_REPLIES);
+        boolean byScore = "top".equalsIgnoreCase(sortBy);
+        boolean ascending = "oldest".equalsIgnoreCase(sortBy);
+        String sortField = byScore ? "score" : "createdAt";
+
+        Query query = new Query(Criteria.where("questionId").is(questionId).and("parentCommentId").is(null));
+        if (cursor != null && !cursor.isBlank()) {
+            PageCursor after = PageCursor.decode(cursor);
+            Object sortValue = byScore ? after.sortKeyAsDouble() : after.sortKeyAsDateTime();
+            query.addCriteria(ascending ? after.afterAscending(sortField, sortValue)
+                    : after.afterDescending(sortField, sortValue));
+        }
+        Sort.Direction direction = ascending ? Sort.Direction.ASC : Sort.Direction.DESC;
+        query.with(Sort.by(direction, sortField, "id")).limit(pageSize + 1);
+
+        CursorPage<ForumComment> page = CursorPage.of(mongoTemplate.find(query, ForumComment.class), pageSize,
+                comment -> PageCursor.of(byScore ? comment.getScore() : comment.getCreatedAt(), comment.getId()));
+        return new CursorPage<>(withReplies(questionId, page.items(), previewSize), page.nextCursor());
+    }
+
+    /**
+     * Retrieves a page of the direct replies to a comment, oldest first, each with its own number of replies.
+     *
+     * @param commentId The ID of the parent comment.
+     * @param cursor    Opaque cursor from a previous page, or null/blank for the first page.
+     * @param limit     Maximum number of replies.
+     * @return The replies and the cursor of the next page, or null if the comment does not exist.
+     * @throws IllegalArgumentException if the cursor is invalid.
+     */
+    public CursorPage<ForumCommentThread> getReplies(String commentId, String cursor, int limit) {
+        Optional<ForumComment> parent = commentRepository.findById(commentId);
+        if (parent.isEmpty()) {
+            return null;
+        }
+        int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        String questionId = parent.get().getQuestionId();
+
+        // Scoped to the question so the (questionId, parentCommentId, createdAt) index serves it
+        Query query = new Query(Criteria.where("questionId").is(questionId).and("parentCommentId").is(commentId));
+        if (cursor != null && !cursor.isBlank()) {
+            PageCursor after = PageCursor.decode(cursor);
+            query.addCriteria(after.afterAscending("createdAt", after.sortKeyAsDateTime()));
+        }
+        query.with(Sort.by(Sort.Direction.ASC, "createdAt", "id")).limit(pageSize + 1);
+
+        CursorPage<ForumComment> page = CursorPage.of(mongoTemplate.find(query, ForumComment.class), pageSize,
+                comment -> PageCursor.of(comment.getCreatedAt(), comment.getId()));
+        return new CursorPage<>(withReplies(questionId, page.items(), 0), page.nextCursor());
+    }
+
+    // Wraps comments into threads: three aggregations at most, whatever the page size
+    private List<ForumCommentThread> withReplies(String questionId, List<ForumComment> comments, int previewSize) {
+        List<String> ids = comments.stream().map(ForumComment::getId).toList();
+        Map<String, Long> replyCounts = replyCounts(questionId, ids);
+
+        // Only comments that have replies need a preview branch
+        List<String> parentIds = ids.stream().filter(replyCounts::containsKey).toList();
+        Map<String, List<ForumComment>> previews = replyPreviews(questionId, parentIds, previewSize);
+        List<String> previewIds = previews.values().stream().flatMap(List::stream).map(ForumComment::getId).toList();
+        Map<String, Long> previewReplyCounts = replyCounts(questionId, previewIds);
+
+        List<ForumCommentThread> threads = new ArrayList<>(comments.size());
+        for (ForumComment comment : comments) {
+            List<ForumCommentThread> replies = previews.getOrDefault(comment.getId(), List.of()).stream()
+                    .map(reply -> new ForumCommentThread(reply, previewReplyCounts.getOrDefault(reply.getId(), 0L), List.of()))
+                    .toList();
+            threads.add(new ForumCommentThread(comment, replyCounts.getOrDefault(comment.getId(), 0L), replies));
+        }
+        return threads;
+    }
+
+    // Counts the direct replies of each comment; comments without replies are left out
+    private Map<String, Long> replyCounts(String questionId, List<String> parentIds) {
+        Map<String, Long> counts = new HashMap<>();
+        if (parentIds.isEmpty()) {
+            return counts;
+        }
+        List<Document> pipeline = List.of(
+                new Document("$match", new Document("questionId", questionId)
+                        .append("parentCommentId", new Document("$in", parentIds))),
+                new Document("$group", new Document("_id", "$parentCommentId").append("count", new Document("$sum", 1))));
+        for (Document count : mongoTemplate.getCollection(mongoTemplate.getCollectionName(ForumComment.class))
+                .aggregate(pipeline)) {
+            counts.put(count.getString("_id"), ((Number) count.get("count")).longValue());
+        }
+        return counts;
+    }
+
+    // Reads the oldest previewSize direct replies of each parent with one aggregation: every parent
+    // gets its own $match/$sort/$limit branch, joined with $unionWith, so each branch reads at most
+    // previewSize entries of the (questionId, parentCommentId, createdAt) index
+    private Map<String, List<ForumComment>> replyPreviews(String questionId, List<String> parentIds, int previewSize) {
+        Map<String, List<ForumComment>> previews = new HashMap<>();
+        if (parentIds.isEmpty() || previewSize == 0) {
+            return previews;
+        }
+        String collection = mongoTemplate.getCollectionName(ForumComment.class);
+        List<Document> pipeline = new ArrayList<>(oldestReplies(questionId, parentIds.get(0), previewSize));
+        for (String parentId : parentIds.subList(1, parentIds.size())) {
+            pipeline.add(new Document("$unionWith", new Document("coll", collection)
+                    .append("pipeline", oldestReplies(questionId, parentId, previewSize))));
+        }
+        for (Document reply : mongoTemplate.getCollection(collection).aggregate(pipeline)) {
+            ForumComment comment = mongoTemplate.getConverter().read(ForumComment.class, reply);
+            previews.computeIfAbsent(comment.getParentCommentId(), id -> new ArrayList<>()).add(comment);
+        }
+        // $unionWith does not promise to keep the branches in order
+        previews.values().forEach(replies -> replies.sort(
+                Comparator.comparing(ForumComment::getCreatedAt).thenComparing(ForumComment::getId)));
+        return previews;
+    }
+
+    private static List<Document> oldestReplies(String questionId, String parentId, int previewSize) {
+        return List.of(
+                new Document("$match", new Document("questionId", questionId).append("parentCommentId", parentId)),
+                new Document("$sort", new Document("createdAt", 1).append("_id", 1)),
+                new Document("$limit", previewSize));
+    }
+
     /**
      * Upvotes a comment. If already upvoted, removes the upvote.
      * Sends a notification to the comment author if not self-voted.
@@ -178,35 +362,7 @@ public class ForumCommentService {
      * @throws Exception if comment not found.
      */
     public ForumComment upvoteComment(String commentId, String userId) throws Exception {
-        Optional<ForumComment> commentOptional = commentRepository.findById(commentId);
-        if (!commentOptional.isPresent()) {
-            throw new Exception("Comment not found");
-        }
-
-        ForumComment comment = commentOptional.get();
-        boolean wasUpvoted = comment.getUpvoteUserIds().contains(userId);
-        if (wasUpvoted) {
-            comment.getUpvoteUserIds().remove(userId);
-        } else {
-            comment.getUpvoteUserIds().add(userId);
-            comment.getDownvoteUserIds().remove(userId);
-            // Notify comment author if not self-vote
-            if (!comment.getAuthorId().equals(userId)) {
-                Optional<User> voter = userRepository.findById(userId);
-                Optional<User> recipient = userRepository.findById(comment.getAuthorId());
-                String voterName = voter.map(User::getName).orElse("A user");
-                ForumNotification notification = new ForumNotification();
-                notification.setUserId(comment.getAuthorId());
-                notification.setUserName(recipient.map(User::getName).orElse(""));
-                notification.setMessage(voterName + " upvoted your comment");
-                notification.setRelatedCommentId(commentId);
-                notification.setRelatedQuestionId(comment.getQuestionId());
-                notification.setType("COMMENT_VOTE");
-                notificationService.createNotification(notification);
-            }
-        }
-
-        return commentRepository.save(comment);
+        return voteComment(commentId, userId, ForumVoteEngine.Direction.UP);
     }
 
     /**
@@ -219,35 +375,35 @@ public class ForumCommentService {
      * @throws Exception if comment not found.
      */
     public ForumComment downvoteComment(String commentId, String userId) throws Exception {
-        Optional<ForumComment> commentOptional = commentRepository.findById(commentId);
-        if (!commentOptional.isPresent()) {
+        return voteComment(commentId, userId, ForumVoteEngine.Direction.DOWN);
+    }
+
+    // Applies the vote atomically and notifies the comment author of new votes
+    private ForumComment voteComment(String commentId, String userId, ForumVoteEngine.Direction direction)
+            throws Exception {
+        ForumVoteEngine.VoteOutcome<ForumComment> outcome =
+                voteEngine.vote(ForumComment.class, commentId, userId, direction);
+        if (outcome == null) {
             throw new Exception("Comment not found");
         }
 
-        ForumComment comment = commentOptional.get();
-        boolean wasDownvoted = comment.getDownvoteUserIds().contains(userId);
-        if (wasDownvoted) {
-            comment.getDownvoteUserIds().remove(userId);
-        } else {
-            comment.getDownvoteUserIds().add(userId);
-            comment.getUpvoteUserIds().remove(userId);
-            // Notify comment author if not self-vote
-            if (!comment.getAuthorId().equals(userId)) {
-                Optional<User> voter = userRepository.findById(userId);
-                Optional<User> recipient = userRepository.findById(comment.getAuthorId());
-                String voterName = voter.map(User::getName).orElse("A user");
-                ForumNotification notification = new ForumNotification();
-                notification.setUserId(comment.getAuthorId());
-                notification.setUserName(recipient.map(User::getName).orElse(""));
-                notification.setMessage(voterName + " downvoted your comment");
-                notification.setRelatedCommentId(commentId);
-                notification.setRelatedQuestionId(comment.getQuestionId());
-                notification.setType("COMMENT_VOTE");
-                notificationService.createNotification(notification);
-            }
+        ForumComment comment = outcome.document();
+        // Notify comment author if not self-vote
+        if (outcome.change() != ForumVoteEngine.Change.REMOVED && !comment.getAuthorId().equals(userId)) {
+            String verb = direction == ForumVoteEngine.Direction.UP ? "upvoted" : "downvoted";
+            Optional<User> voter = userRepository.findById(userId);
+            Optional<User> recipient = userRepository.findById(comment.getAuthorId());
+            String voterName = voter.map(User::getName).orElse("A user");
+            ForumNotification notification = new ForumNotification();
+            notification.setUserId(comment.getAuthorId());
+            notification.setUserName(recipient.map(User::getName).orElse(""));
+            notification.setMessage(voterName + " " + verb + " your comment");
+            notification.setRelatedCommentId(commentId);
+            notification.setRelatedQuestionId(comment.getQuestionId());
+            notification.setType("COMMENT_VOTE");
+            notificationService.createNotification(notification);
         }
-
-        return commentRepository.save(comment);
+        return comment;
     }
 
     /**
@@ -263,24 +419,8 @@ public class ForumCommentService {
             throw new Exception("Comment not found");
         }
 
-        ForumComment comment = commentOptional.get();
-        comment.setFlagged(true);
-        commentRepository.save(comment);
+        mongoTemplate.updateFirst(new Query(Criteria.where("id").is(commentId)),
+                new Update().set("isFlagged", true), ForumComment.class);
         LOGGER.info("Comment flagged with ID: " + commentId);
     }
-
-    /**
-     * Checks if a user is an admin or moderator.
-     *
-     * @param userId The ID of the user.
-     * @return true if user is admin or moderator, false otherwise.
-     */
-    private boolean isAdminOrModerator(String userId) {
-        Optional<User> userOptional = userRepository.findById(userId);
-        if (userOptional.isPresent()) {
-            User user = userOptional.get();
-            return user.getRole() == Role.ADMIN || user.getRole() == Role.MODERATOR;
-        }
-        return false;
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,56 @@
+package com.nexora.server.service.forum;
+
+import org.bson.Document;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Hot ranking of forum questions, in the style of Reddit's hot sort:
+ * {@code sign(score) * log10(max(|score|, 1)) + (createdAt - EPOCH) / DECAY_SECONDS}.
+ * Newer questions get a head start that a tenfold higher score can overcome every
+ * {@link #DECAY_SECONDS}, so the ranking never needs to be refreshed as questions age and
+ * only changes when a vote does.
+ */
+public final class ForumHotScore {
+
+    static final long DECAY_SECONDS = 45_000;
+    // 2024-01-01T00:00:00Z; keeps the time term small
+    static final long EPOCH_SECONDS = 1_704_067_200L;
+
+    private ForumHotScore() {
+    }
+
+    /**
+     * Computes the hot score of a question. Mirrors {@link #expression()}.
+     *
+     * @param score     upvotes minus downvotes
+     * @param createdAt creation time, in the server's time zone as stored by Spring Data
+     * @return the hot score
+     */
+    public static double of(int score, LocalDateTime createdAt) {
+        double order = Math.log10(Math.max(Math.abs(score), 1));
+        long createdSeconds = createdAt != null
+                ? createdAt.atZone(ZoneId.systemDefault()).toEpochSecond()
+                : EPOCH_SECONDS;
+        return Math.signum(score) * order + (double) (createdSeconds - EPOCH_SECONDS) / DECAY_SECONDS;
+    }
+
+    /**
+     * Returns the aggregation expression computing the hot score from the stored score and createdAt,
+     * for pipeline updates.
+     */
+    public static Document expression() {
+        Date epoch = new Date(EPOCH_SECONDS * 1000);
+        Document order = new Document("$multiply", List.of(
+                new Document("$cmp", List.of(new Document("$ifNull", List.of("$score", 0)), 0)),
+                new Document("$log10", new Document("$max", List.of(
+                        new Document("$abs", new Document("$ifNull", List.of("$score", 0))), 1)))));
+        Document age = new Document("$divide", List.of(
+                new Document("$subtract", List.of(new Document("$ifNull", List.of("$createdAt", epoch)), epoch)),
+                DECAY_SECONDS * 1000));
+        return new Document("$add", List.of(order, age));
+    }
+}
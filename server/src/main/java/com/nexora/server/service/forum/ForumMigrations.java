@@ -0,0 +1,131 @@
+package com.nexora.server.service.forum;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.WriteModel;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * One-off data migrations for the forum collections, run at startup.
+ * Each step only touches documents that have not been migrated yet, so running it again is a no-op.
+ * The steps run once all beans are created but before the web server starts accepting requests,
+ * because the backfills only fill in missing counters: a vote or comment that created a counter
+ * first would make its backfill skip the document and lose the earlier total.
+ */
+@Component
+public class ForumMigrations implements SmartInitializingSingleton {
+    private static final Logger LOGGER = Logger.getLogger(ForumMigrations.class.getName());
+
+    private static final String QUESTIONS_COLLECTION = "questions";
+    private static final String COMMENTS_COLLECTION = "forum_comments";
+
+    private final MongoTemplate mongoTemplate;
+
+    public ForumMigrations(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        try {
+            initializeVoteArrays(QUESTIONS_COLLECTION);
+            initializeVoteArrays(COMMENTS_COLLECTION);
+            backfillVoteCounts(QUESTIONS_COLLECTION);
+            backfillVoteCounts(COMMENTS_COLLECTION);
+            backfillCommentCount();
+            backfillHotScore();
+        } catch (Exception e) {
+            LOGGER.severe("Forum migrations failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Replaces missing or null vote arrays with empty ones, which $addToSet and $pull require.
+     */
+    private void initializeVoteArrays(String collection) {
+        long updated = 0;
+        for (String field : List.of("upvoteUserIds", "downvoteUserIds")) {
+            updated += mongoTemplate.getCollection(collection).updateMany(
+                    new Document(field, null),
+                    new Document("$set", new Document(field, List.of())))
+                    .getModifiedCount();
+        }
+        if (updated > 0) {
+            LOGGER.info("Initialized " + updated + " vote arrays in " + collection);
+        }
+    }
+
+    /**
+     * Sets upvoteCount, downvoteCount and score from the vote arrays on questions and comments
+     * created before the counters existed.
+     */
+    private void backfillVoteCounts(String collection) {
+        Document upvotes = new Document("$size", new Document("$ifNull", List.of("$upvoteUserIds", List.of())));
+        Document downvotes = new Document("$size", new Document("$ifNull", List.of("$downvoteUserIds", List.of())));
+        long updated = mongoTemplate.getCollection(collection).updateMany(
+                new Document("upvoteCount", new Document("$exists", false)),
+                List.of(new Document("$set", new Document("upvoteCount", upvotes)
+                        .append("downvoteCount", downvotes)
+                        .append("score", new Document("$subtract", List.of(upvotes, downvotes))))))
+                .getModifiedCount();
+        if (updated > 0) {
+            LOGGER.info("Backfilled vote counts on " + updated + " documents in " + collection);
+        }
+    }
+
+    /**
+     * Counts the comments of questions created before commentCount existed. The commentIds array was
+     * never maintained, so the count comes from the forum_comments collection.
+     */
+    private void backfillCommentCount() {
+        MongoCollection<Document> questions = mongoTemplate.getCollection(QUESTIONS_COLLECTION);
+        if (questions.countDocuments(new Document("commentCount", new Document("$exists", false))) == 0) {
+            return;
+        }
+
+        List<WriteModel<Document>> writes = new ArrayList<>();
+        for (Document group : mongoTemplate.getCollection(COMMENTS_COLLECTION).aggregate(List.of(
+                new Document("$group", new Document("_id", "$questionId").append("count", new Document("$sum", 1)))))) {
+            Object questionId = group.get("_id");
+            if (questionId == null || !ObjectId.isValid(questionId.toString())) {
+                continue;
+            }
+            writes.add(new UpdateOneModel<>(
+                    new Document("_id", new ObjectId(questionId.toString()))
+                            .append("commentCount", new Document("$exists", false)),
+                    new Document("$set", new Document("commentCount", group.getInteger("count")))));
+        }
+        long updated = 0;
+        if (!writes.isEmpty()) {
+            updated = questions.bulkWrite(writes, new BulkWriteOptions().ordered(false)).getModifiedCount();
+        }
+        updated += questions.updateMany(
+                new Document("commentCount", new Document("$exists", false)),
+                new Document("$set", new Document("commentCount", 0)))
+                .getModifiedCount();
+        LOGGER.info("Backfilled commentCount on " + updated + " questions");
+    }
+
+    /**
+     * Computes the hot score of questions created before it existed. Runs after the vote counts,
+     * which it reads.
+     */
+    private void backfillHotScore() {
+        long updated = mongoTemplate.getCollection(QUESTIONS_COLLECTION).updateMany(
+                new Document("hotScore", new Document("$exists", false)),
+                List.of(new Document("$set", new Document("hotScore", ForumHotScore.expression()))))
+                .getModifiedCount();
+        if (updated > 0) {
+            LOGGER.info("Backfilled hotScore on " + updated + " questions");
+        }
+    }
+}
@@ -1,19 +1,28 @@
 package com.nexora.server.service.forum;
 
-import com.nexora.server.model.Role;
+import com.nexora.server.model.CursorPage;
+import com.nexora.server.model.PageCursor;
 import com.nexora.server.model.User;
 import com.nexora.server.model.forum.ForumQuestion;
 import com.nexora.server.model.forum.ForumNotification;
 import com.nexora.server.repository.UserRepository;
 import com.nexora.server.repository.forum.ForumQuestionRepository;
+import com.nexora.server.service.AuthorizationService;
 import com.nexora.server.service.UserService;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
@@ -26,15 +35,35 @@ import java.util.logging.Logger;
 public class ForumQuestionService {
     private static final Logger LOGGER = Logger.getLogger(ForumQuestionService.class.getName());
 
+    private static final int MAX_PAGE_SIZE = 100;
+    // Search results beyond this many matches are not paged through
+    private static final int MAX_SEARCH_MATCHES = 1000;
+    private static final int MAX_SEARCH_HITS = 50;
+
     @Autowired
     private ForumQuestionRepository questionRepository;
 
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private ForumVoteEngine voteEngine;
+
+    @Autowired
+    private ForumViewBuffer viewBuffer;
+
+    @Autowired
+    private ForumSearchIndex searchIndex;
+
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private AuthorizationService authorizationService;
+
     @Autowired
     private ForumTagService tagService;
 
@@ -67,11 +96,19 @@ public class ForumQuestionService {
         question.setAuthorId(userId);
         question.setAuthorAvatarUrl(user.getProfilePhotoUrl());
         question.setCreatedAt(LocalDateTime.now());
+        question.setCommentCount(0);
+        question.setUpvoteUserIds(new ArrayList<>());
+        question.setDownvoteUserIds(new ArrayList<>());
+        question.setUpvoteCount(0);
+        question.setDownvoteCount(0);
+        question.setScore(0);
+        question.setHotScore(ForumHotScore.of(0, question.getCreatedAt()));
         List<String> tags = question.getTags() != null ? question.getTags() : new ArrayList<>();
         question.setTags(tags);
         tagService.saveTags(tags);
         question.setAuthorUsername(username);
         ForumQuestion savedQuestion = questionRepository.save(question);
+        searchIndex.index(savedQuestion);
         LOGGER.info("Question created with ID: " + savedQuestion.getId());
         return savedQuestion;
     }
@@ -91,21 +128,27 @@ public class ForumQuestionService {
         }
 
         ForumQuestion question = questionOptional.get();
-        if (!question.getAuthorId().equals(userId) && !isAdminOrModerator(userId)) {
+        if (!question.getAuthorId().equals(userId) && !authorizationService.isAdminOrModerator(userId)) {
             throw new Exception("Unauthorized to edit this question");
         }
 
-        if (question.getCreatedAt().plusHours(24).isBefore(LocalDateTime.now()) && !isAdminOrModerator(userId)) {
+        if (question.getCreatedAt().plusHours(24).isBefore(LocalDateTime.now()) && !authorizationService.isAdminOrModerator(userId)) {
             throw new Exception("Edit time limit exceeded");
         }
 
-        question.setTitle(updatedQuestion.getTitle());
-        question.setDescription(updatedQuestion.getDescription());
         List<String> tags = updatedQuestion.getTags() != null ? updatedQuestion.getTags() : new ArrayList<>();
-        question.setTags(tags);
         tagService.saveTags(tags);
-        question.setUpdatedAt(LocalDateTime.now());
-        return questionRepository.save(question);
+        // Only the edited fields are written, so votes and comments added meanwhile are kept
+        ForumQuestion saved = mongoTemplate.findAndModify(
+                new Query(Criteria.where("id").is(questionId)),
+                new Update().set("title", updatedQuestion.getTitle())
+                        .set("description", updatedQuestion.getDescription())
+                        .set("tags", tags)
+                        .set("updatedAt", LocalDateTime.now()),
+                FindAndModifyOptions.options().returnNew(true),
+                ForumQuestion.class);
+        searchIndex.index(saved);
+        return saved;
     }
 
     /**
@@ -121,145 +164,168 @@ public class ForumQuestionService {
         }
 
         ForumQuestion question = questionOptional.get();
-        if (!question.getAuthorId().equals(userId) && !isAdminOrModerator(userId)) {
+        if (!question.getAuthorId().equals(userId) && !authorizationService.isAdminOrModerator(userId)) {
             throw new Exception("Unauthorized to delete this question");
         }
 
-        if (question.getCreatedAt().plusHours(24).isBefore(LocalDateTime.now()) && !isAdminOrModerator(userId)) {
+        if (question.getCreatedAt().plusHours(24).isBefore(LocalDateTime.now()) && !authorizationService.isAdminOrModerator(userId)) {
             throw new Exception("Delete time limit exceeded");
         }
 
         questionRepository.deleteById(questionId);
+        searchIndex.remove(questionId);
         LOGGER.info("Question deleted with ID: " + questionId);
     }
 
     /**
-     * Retrieves a list of forum questions with optional filtering and sorting.
+     * Retrieves a page of forum questions with optional filtering and sorting, pinned questions first.
+     * Filters, ordering and the keyset cursor are combined into one aggregation, so the database
+     * only reads the requested page instead of the whole collection.
      * @param tag Filter by tag.
-     * @param search Search by title or description.
-     * @param sortBy Sort by "newest" or "mostCommented".
+     * @param search Search words, matched against title, description and tags through the search index.
+     *               Only the 1,000 most relevant questions are considered, so a
+     *               very broad search lists at most that many questions.
+     * @param sortBy Sort by "newest", "mostCommented", "topVoted" or "hot".
      * @param authorId Filter by author ID.
-     * @return List of ForumQuestion.
+     * @param cursor Opaque cursor from a previous page, or null/blank for the first page.
+     * @param limit Maximum number of questions to return.
+     * @return The questions and the cursor of the next page.
+     * @throws IllegalArgumentException if the cursor is invalid.
      */
-    public List<ForumQuestion> getQuestions(String tag, String search, String sortBy, String authorId) {
-        List<ForumQuestion> questions;
-
-        System.out.println("<> Author ID: " + authorId);
+    public CursorPage<ForumQuestion> getQuestions(String tag, String search, String sortBy, String authorId,
+                                                  String cursor, int limit) {
+        int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        String sortField = sortFieldOf(sortBy);
 
+        List<Criteria> filters = new ArrayList<>();
         if (tag != null && !tag.trim().isEmpty()) {
-            questions = questionRepository.findByTagsIn(Collections.singletonList(tag.trim().toLowerCase()));
-        } else if (search != null && !search.trim().isEmpty()) {
-            questions = questionRepository.findByTitleContainingIgnoreCaseOrDescriptionContainingIgnoreCase(search, search);
-        } else {
-            questions = questionRepository.findAll();
+            filters.add(Criteria.where("tags").is(tag.trim().toLowerCase()));
+        }
+        if (search != null && !search.trim().isEmpty()) {
+            filters.add(Criteria.where("id").in(searchIndex.searchIds(search, MAX_SEARCH_MATCHES)));
         }
-
         if (authorId != null && !authorId.isEmpty()) {
-            questions = questionRepository.findByAuthorId(authorId); // Filter by authorId
-            System.out.println("Found " + questions.size() + " questions for authorId: " + authorId);
-        } else {
-            questions = questionRepository.findAll(); // Default behavior
-            System.out.println("Returning all " + questions.size() + " questions for all authors.");
+            filters.add(Criteria.where("authorId").is(authorId));
         }
 
-        if ("newest".equalsIgnoreCase(sortBy)) {
-            questions.sort(Comparator.comparing(
-                ForumQuestion::getCreatedAt,
-                Comparator.nullsLast(Comparator.naturalOrder())).reversed());
-        } else if ("mostCommented".equalsIgnoreCase(sortBy)) {
-            questions.sort(Comparator.comparingInt(
-                (ForumQuestion q) -> q.getCommentIds() != null ? q.getCommentIds().size() : 0).reversed());
+        List<AggregationOperation> stages = new ArrayList<>();
+        if (!filters.isEmpty()) {
+            stages.add(Aggregation.match(new Criteria().andOperator(filters)));
+        }
+        if (cursor != null && !cursor.isBlank()) {
+            stages.add(Aggregation.match(afterCursor(PageCursor.decode(cursor), sortField)));
         }
+        stages.add(Aggregation.sort(Sort.by(Sort.Order.desc("isPinned"), Sort.Order.desc(sortField), Sort.Order.desc("id"))));
+        stages.add(Aggregation.limit(pageSize + 1));
+
+        List<ForumQuestion> fetched = mongoTemplate.aggregate(
+                Aggregation.newAggregation(ForumQuestion.class, stages), ForumQuestion.class).getMappedResults();
+        return CursorPage.of(fetched, pageSize, question -> PageCursor.of(
+                (question.isPinned() ? "1" : "0") + ":" + sortValueOf(question, sortField), question.getId()));
+    }
+
+    /**
+     * Searches questions by relevance, best match first.
+     * @param query Search words, matched against title, description and tags.
+     * @param limit Maximum number of hits.
+     * @return The ranked hits, with the matched words highlighted in the title and a description snippet.
+     */
+    public List<ForumSearchIndex.SearchHit> searchQuestions(String query, int limit) {
+        return searchIndex.search(query, Math.min(Math.max(limit, 1), MAX_SEARCH_HITS));
+    }
+
+    // Maps sortBy to the stored field it orders by; every one of them is indexed behind isPinned
+    private String sortFieldOf(String sortBy) {
+        if ("mostCommented".equalsIgnoreCase(sortBy)) {
+            return "commentCount";
+        }
+        if ("topVoted".equalsIgnoreCase(sortBy)) {
+            return "score";
+        }
+        if ("hot".equalsIgnoreCase(sortBy)) {
+            return "hotScore";
+        }
+        return "createdAt";
+    }
+
+    private Object sortValueOf(ForumQuestion question, String sortField) {
+        return switch (sortField) {
+            case "commentCount" -> question.getCommentCount();
+            case "score" -> question.getScore();
+            case "hotScore" -> question.getHotScore();
+            default -> question.getCreatedAt();
+        };
+    }
 
-        return questions;
+    // The cursor sort key is "<pinned 0|1>:<value of the sort field>", e.g. createdAt, commentCount, score or hotScore
+    private Criteria afterCursor(PageCursor after, String sortField) {
+        String[] parts = after.getSortKey().split(":", 2);
+        if (parts.length != 2 || !(parts[0].equals("0") || parts[0].equals("1"))) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        boolean pinned = parts[0].equals("1");
+        PageCursor inner = PageCursor.of(parts[1], after.getId());
+        Object sortValue = sortField.equals("createdAt") ? inner.sortKeyAsDateTime() : inner.sortKeyAsDouble();
+        return new Criteria().orOperator(
+                Criteria.where("isPinned").lt(pinned),
+                new Criteria().andOperator(
+                        Criteria.where("isPinned").is(pinned),
+                        inner.afterDescending(sortField, sortValue)));
     }
 
     /**
-     * Upvotes a forum question by a user.
+     * Upvotes a forum question by a user. Upvoting again removes the upvote.
      * @param questionId The ID of the question.
      * @param userId The ID of the user upvoting.
      * @return The updated ForumQuestion.
      * @throws Exception if question not found.
      */
     public ForumQuestion upvoteQuestion(String questionId, String userId) throws Exception {
-        Optional<ForumQuestion> questionOptional = questionRepository.findById(questionId);
-        if (!questionOptional.isPresent()) {
-            throw new Exception("Question not found");
-        }
-
-        ForumQuestion question = questionOptional.get();
-        if (question.getUpvoteUserIds() == null) {
-            question.setUpvoteUserIds(new ArrayList<>());
-        }
-        if (question.getDownvoteUserIds() == null) {
-            question.setDownvoteUserIds(new ArrayList<>());
-        }
-
-        boolean wasUpvoted = question.getUpvoteUserIds().contains(userId);
-        if (wasUpvoted) {
-            question.getUpvoteUserIds().remove(userId);
-        } else {
-            question.getUpvoteUserIds().add(userId);
-            question.getDownvoteUserIds().remove(userId);
-            if (!question.getAuthorId().equals(userId)) {
-                Optional<User> voter = userRepository.findById(userId);
-                Optional<User> recipient = userRepository.findById(question.getAuthorId());
-                String voterName = voter.map(User::getName).orElse("A user");
-                ForumNotification notification = new ForumNotification();
-                notification.setUserId(question.getAuthorId());
-                notification.setUserName(recipient.map(User::getName).orElse(""));
-                notification.setMessage(voterName + " upvoted your question: " + question.getTitle());
-                notification.setRelatedQuestionId(questionId);
-                notification.setType("QUESTION_VOTE");
-                notificationService.createNotification(notification);
-            }
-        }
-
-        return questionRepository.save(question);
+        return voteQuestion(questionId, userId, ForumVoteEngine.Direction.UP);
     }
 
     /**
-     * Downvotes a forum question by a user.
+     * Downvotes a forum question by a user. Downvoting again removes the downvote.
      * @param questionId The ID of the question.
      * @param userId The ID of the user downvoting.
      * @return The updated ForumQuestion.
      * @throws Exception if question not found.
      */
     public ForumQuestion downvoteQuestion(String questionId, String userId) throws Exception {
-        Optional<ForumQuestion> questionOptional = questionRepository.findById(questionId);
-        if (!questionOptional.isPresent()) {
+        return voteQuestion(questionId, userId, ForumVoteEngine.Direction.DOWN);
+    }
+
+    // Applies the vote atomically, refreshes the hot score and notifies the author of new votes
+    private ForumQuestion voteQuestion(String questionId, String userId, ForumVoteEngine.Direction direction)
+            throws Exception {
+        ForumVoteEngine.VoteOutcome<ForumQuestion> outcome =
+                voteEngine.vote(ForumQuestion.class, questionId, userId, direction);
+        if (outcome == null) {
             throw new Exception("Question not found");
         }
 
-        ForumQuestion question = questionOptional.get();
-        if (question.getUpvoteUserIds() == null) {
-            question.setUpvoteUserIds(new ArrayList<>());
-        }
-        if (question.getDownvoteUserIds() == null) {
-            question.setDownvoteUserIds(new ArrayList<>());
-        }
-
-        boolean wasDownvoted = question.getDownvoteUserIds().contains(userId);
-        if (wasDownvoted) {
-            question.getDownvoteUserIds().remove(userId);
-        } else {
-            question.getDownvoteUserIds().add(userId);
-            question.getUpvoteUserIds().remove(userId);
-            if (!question.getAuthorId().equals(userId)) {
-                Optional<User> voter = userRepository.findById(userId);
-                Optional<User> recipient = userRepository.findById(question.getAuthorId());
-                String voterName = voter.map(User::getName).orElse("A user");
-                ForumNotification notification = new ForumNotification();
-                notification.setUserId(question.getAuthorId());
-                notification.setUserName(recipient.map(User::getName).orElse(""));
-                notification.setMessage(voterName + " downvoted your question: " + question.getTitle());
-                notification.setRelatedQuestionId(questionId);
-                notification.setType("QUESTION_VOTE");
-                notificationService.createNotification(notification);
-            }
-        }
-
-        return questionRepository.save(question);
+        ForumQuestion question = outcome.document();
+        question.setHotScore(ForumHotScore.of(question.getScore(), question.getCreatedAt()));
+        // Only written while the score is still the one it was computed from; a later vote writes its own
+        mongoTemplate.updateFirst(
+                new Query(Criteria.where("id").is(questionId).and("score").is(question.getScore())),
+                new Update().set("hotScore", question.getHotScore()),
+                ForumQuestion.class);
+
+        if (outcome.change() != ForumVoteEngine.Change.REMOVED && !question.getAuthorId().equals(userId)) {
+            String verb = direction == ForumVoteEngine.Direction.UP ? "upvoted" : "downvoted";
+            Optional<User> voter = userRepository.findById(userId);
+            Optional<User> recipient = userRepository.findById(question.getAuthorId());
+            String voterName = voter.map(User::getName).orElse("A user");
+            ForumNotification notification = new ForumNotification();
+            notification.setUserId(question.getAuthorId());
+            notification.setUserName(recipient.map(User::getName).orElse(""));
+            notification.setMessage(voterName + " " + verb + " your question: " + question.getTitle());
+            notification.setRelatedQuestionId(questionId);
+            notification.setType("QUESTION_VOTE");
+            notificationService.createNotification(notification);
+        }
+        return question;
     }
 
     /**
@@ -274,9 +340,8 @@ public class ForumQuestionService {
             throw new Exception("Question not found");
         }
 
-        ForumQuestion question = questionOptional.get();
-        question.setFlagged(true);
-        questionRepository.save(question);
+        mongoTemplate.updateFirst(new Query(Criteria.where("id").is(questionId)),
+                new Update().set("isFlagged", true), ForumQuestion.class);
         LOGGER.info("Question flagged with ID: " + questionId);
     }
 
@@ -361,19 +426,26 @@ public class ForumQuestionService {
     }
 
     /**
-     * Increments the view count of a question.
+     * Records a view of a question. Views are buffered and written in batches; a viewer's repeated
+     * views within the dedup window count once.
      * @param questionId The ID of the question.
-     * @return The updated ForumQuestion.
-     * @throws Exception if question not found.
+     * @param viewerKey Identifies the viewer, e.g. their user ID or address.
+     * @return true if the view was counted.
      */
-    public ForumQuestion incrementViews(String questionId) throws Exception {
-        Optional<ForumQuestion> questionOptional = questionRepository.findById(questionId);
-        if (!questionOptional.isPresent()) {
-            throw new Exception("Question not found");
-        }
-        ForumQuestion question = questionOptional.get();
-        question.setViews(question.getViews() + 1);
-        return questionRepository.save(question);
+    public boolean recordView(String questionId, String viewerKey) {
+        return viewBuffer.recordView(questionId, viewerKey);
+    }
+
+    /**
+     * Adds the views still buffered in memory to a question loaded from the database, and raises
+     * its unique viewer count to the live estimate.
+     * @param question The question to update in place.
+     * @return The same question.
+     */
+    public ForumQuestion withLiveViews(ForumQuestion question) {
+        question.setViews(question.getViews() + (int) viewBuffer.pendingViews(question.getId()));
+        question.setUniqueViewers(Math.max(question.getUniqueViewers(), viewBuffer.uniqueViewers(question.getId())));
+        return question;
     }
 
     /**
@@ -384,7 +456,7 @@ public class ForumQuestionService {
      * @throws Exception if unauthorized or question not found.
      */
     public ForumQuestion togglePinQuestion(String questionId, String userId) throws Exception {
-        if (!isAdminOrModerator(userId)) {
+        if (!authorizationService.isAdminOrModerator(userId)) {
             throw new Exception("Unauthorized to pin/unpin question");
         }
         Optional<ForumQuestion> questionOptional = questionRepository.findById(questionId);
@@ -392,21 +464,10 @@ public class ForumQuestionService {
             throw new Exception("Question not found");
         }
         ForumQuestion question = questionOptional.get();
-        question.setPinned(!question.isPinned());
-        return questionRepository.save(question);
-    }
-
-    /**
-     * Checks if a user is an admin or moderator.
-     * @param userId The ID of the user.
-     * @return true if admin or moderator, false otherwise.
-     */
-    private boolean isAdminOrModerator(String userId) {
-        Optional<User> userOptional = userRepository.findById(userId);
-        if (userOptional.isPresent()) {
-            User user = userOptional.get();
-            return user.getRole() == Role.ADMIN || user.getRole() == Role.MODERATOR;
-        }
-        return false;
+        return mongoTemplate.findAndModify(
+                new Query(Criteria.where("id").is(questionId)),
+                new Update().set("isPinned", !question.isPinned()),
+                FindAndModifyOptions.options().returnNew(true),
+                ForumQuestion.class);
     }
 }
@@ -0,0 +1,94 @@
+package com.nexora.server.service.forum;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Turns forum text into index terms: splits on anything that is not a letter or digit, lowercases,
+ * drops common English stop words and reduces each word with a light suffix-stripping stemmer, so
+ * "Configuring", "configured" and "configure" all become "configur". Each token keeps its offsets
+ * in the original text for highlighting.
+ */
+final class ForumSearchAnalyzer {
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "but", "by", "can", "do", "does", "for", "from",
+            "has", "have", "how", "i", "if", "in", "into", "is", "it", "its", "my", "no", "not", "of",
+            "on", "or", "so", "such", "that", "the", "their", "then", "there", "these", "they", "this",
+            "to", "was", "we", "what", "when", "where", "which", "who", "why", "will", "with", "you");
+
+    /**
+     * A term and where the word it came from sits in the text.
+     */
+    record Token(String term, int start, int end) {
+    }
+
+    private ForumSearchAnalyzer() {
+    }
+
+    static List<Token> tokenize(String text) {
+        List<Token> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            while (i < length && !Character.isLetterOrDigit(text.charAt(i))) {
+                i++;
+            }
+            int start = i;
+            while (i < length && Character.isLetterOrDigit(text.charAt(i))) {
+                i++;
+            }
+            if (i > start) {
+                String word = text.substring(start, i).toLowerCase(Locale.ROOT);
+                if (!STOP_WORDS.contains(word)) {
+                    tokens.add(new Token(stem(word), start, i));
+                }
+            }
+        }
+        return tokens;
+    }
+
+    static List<String> terms(String text) {
+        return tokenize(text).stream().map(Token::term).toList();
+    }
+
+    // Plural, -ing, -ed and final -e removal; short words are left alone so they keep their meaning
+    static String stem(String word) {
+        if (word.length() <= 3 || !Character.isLetter(word.charAt(word.length() - 1))) {
+            return word;
+        }
+        String stem = word;
+        if (stem.endsWith("ies") && stem.length() > 4) {
+            stem = stem.substring(0, stem.length() - 3) + "y";
+        } else if (stem.endsWith("sses")) {
+            stem = stem.substring(0, stem.length() - 2);
+        } else if (stem.endsWith("s") && !stem.endsWith("ss") && !stem.endsWith("us") && !stem.endsWith("is")) {
+            stem = stem.substring(0, stem.length() - 1);
+        }
+
+        if (stem.endsWith("ing") && stem.length() >= 6) {
+            stem = undouble(stem.substring(0, stem.length() - 3));
+        } else if (stem.endsWith("ed") && stem.length() >= 5) {
+            stem = undouble(stem.substring(0, stem.length() - 2));
+        }
+
+        if (stem.endsWith("e") && stem.length() > 4) {
+            stem = stem.substring(0, stem.length() - 1);
+        }
+        return stem;
+    }
+
+    // "running" -> "runn" -> "run", but "install" keeps its double l
+    private static String undouble(String stem) {
+        int n = stem.length();
+        if (n >= 3 && stem.charAt(n - 1) == stem.charAt(n - 2) && "bdfgmnprt".indexOf(stem.charAt(n - 1)) >= 0) {
+            return stem.substring(0, n - 1);
+        }
+        return stem;
+    }
+}
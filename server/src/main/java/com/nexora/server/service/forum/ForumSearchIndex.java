@@ -0,0 +1,363 @@
+package com.nexora.server.service.forum;
+
+import com.nexora.server.model.forum.ForumQuestion;
+import org.bson.Document;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.logging.Logger;
+
+/**
+ * In-memory inverted index over forum question titles, descriptions and tags, ranked with BM25.
+ * A term found in the title counts three times, in a tag twice and in the description once, so
+ * a question whose title matches ranks above one that only mentions the words in passing.
+ * Queries are conjunctive: every query term must occur in the question.
+ *
+ * The index is built from Mongo at startup, before the web server accepts requests so the first
+ * searches don't come back empty, and kept up to date by ForumQuestionService on create,
+ * update and delete. Changes made through another instance are picked up by a periodic rebuild.
+ * Reads share a lock and only block while a question is being (re)indexed.
+ */
+@Component
+public class ForumSearchIndex implements SmartInitializingSingleton {
+    private static final Logger LOGGER = Logger.getLogger(ForumSearchIndex.class.getName());
+
+    private static final String QUESTIONS_COLLECTION = "questions";
+
+    private static final int TITLE_WEIGHT = 3;
+    private static final int TAG_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int SNIPPET_LENGTH = 160;
+
+    /**
+     * A ranked match. The title and snippet are HTML-escaped with the matched words wrapped in
+     * {@code <mark>} tags.
+     */
+    public record SearchHit(String questionId, double score, String title, String snippet) {
+    }
+
+    private final MongoTemplate mongoTemplate;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // term -> question ID -> weighted term frequency
+    private Map<String, Map<String, Integer>> postings = new HashMap<>();
+    private Map<String, IndexedQuestion> questions = new HashMap<>();
+    private long totalLength;
+    // Questions indexed or removed while a rebuild reads the collection, replayed onto its result
+    private Map<String, IndexedQuestion> changedDuringRebuild;
+
+    public ForumSearchIndex(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    /**
+     * Rebuilds the whole index from the questions collection and swaps it in at once.
+     */
+    @Scheduled(initialDelayString = "${nexora.forum.search.rebuild-ms:600000}",
+            fixedDelayString = "${nexora.forum.search.rebuild-ms:600000}")
+    public synchronized void rebuild() {
+        long start = System.nanoTime();
+        Map<String, Map<String, Integer>> newPostings = new HashMap<>();
+        Map<String, IndexedQuestion> newQuestions = new HashMap<>();
+        long newTotalLength = 0;
+        lock.writeLock().lock();
+        try {
+            changedDuringRebuild = new HashMap<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        try {
+            for (Document document : mongoTemplate.getCollection(QUESTIONS_COLLECTION).find()
+                    .projection(new Document("title", 1).append("description", 1).append("tags", 1))) {
+                IndexedQuestion question = analyze(document.get("_id").toString(),
+                        document.getString("title"), document.getString("description"),
+                        document.getList("tags", String.class));
+                addPostings(newPostings, question);
+                newQuestions.put(question.id, question);
+                newTotalLength += question.length;
+            }
+        } catch (Exception e) {
+            lock.writeLock().lock();
+            changedDuringRebuild = null;
+            lock.writeLock().unlock();
+            LOGGER.severe("Failed to build the forum search index: " + e.getMessage());
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            Map<String, IndexedQuestion> changes = changedDuringRebuild;
+            changedDuringRebuild = null;
+            postings = newPostings;
+            questions = newQuestions;
+            totalLength = newTotalLength;
+            for (Map.Entry<String, IndexedQuestion> change : changes.entrySet()) {
+                removeLocked(change.getKey());
+                if (change.getValue() != null) {
+                    addLocked(change.getValue());
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        LOGGER.info("Indexed " + newQuestions.size() + " forum questions, " + newPostings.size() + " terms, in "
+                + (System.nanoTime() - start) / 1_000_000 + " ms");
+    }
+
+    /**
+     * Adds a question to the index, replacing its previous version if it was indexed.
+     */
+    public void index(ForumQuestion question) {
+        if (question == null || question.getId() == null) {
+            return;
+        }
+        IndexedQuestion analyzed = analyze(question.getId(), question.getTitle(), question.getDescription(),
+                question.getTags());
+        lock.writeLock().lock();
+        try {
+            removeLocked(question.getId());
+            addLocked(analyzed);
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.put(analyzed.id, analyzed);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a question from the index.
+     */
+    public void remove(String questionId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(questionId);
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.put(questionId, null);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the IDs of the best matching questions, best first.
+     *
+     * @param query free text
+     * @param limit maximum number of IDs
+     */
+    public List<String> searchIds(String query, int limit) {
+        return rank(query, limit).stream().map(Scored::id).toList();
+    }
+
+    /**
+     * Returns the best matching questions with their score and highlighted title and snippet.
+     *
+     * @param query free text
+     * @param limit maximum number of hits
+     */
+    public List<SearchHit> search(String query, int limit) {
+        Set<String> terms = new LinkedHashSet<>(ForumSearchAnalyzer.terms(query));
+        List<Scored> ranked = rank(query, limit);
+        List<SearchHit> hits = new ArrayList<>(ranked.size());
+        lock.readLock().lock();
+        try {
+            for (Scored scored : ranked) {
+                IndexedQuestion question = questions.get(scored.id());
+                if (question != null) {
+                    hits.add(new SearchHit(scored.id(), scored.score(),
+                            highlight(question.title, 0, question.title.length(), terms),
+                            snippet(question.description, terms)));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return hits;
+    }
+
+    private List<Scored> rank(String query, int limit) {
+        Set<String> terms = new LinkedHashSet<>(ForumSearchAnalyzer.terms(query));
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            List<Map<String, Integer>> lists = new ArrayList<>(terms.size());
+            for (String term : terms) {
+                Map<String, Integer> list = postings.get(term);
+                if (list == null) {
+                    return List.of();
+                }
+                lists.add(list);
+            }
+            // Walk the rarest term's postings and look the rest up, so the cost follows the smallest list
+            lists.sort(Comparator.comparingInt(Map::size));
+            int documentCount = questions.size();
+            double averageLength = documentCount == 0 ? 1 : Math.max(1.0, (double) totalLength / documentCount);
+            double[] idf = new double[lists.size()];
+            for (int i = 0; i < lists.size(); i++) {
+                int df = lists.get(i).size();
+                idf[i] = Math.log(1 + (documentCount - df + 0.5) / (df + 0.5));
+            }
+
+            PriorityQueue<Scored> top = new PriorityQueue<>(Comparator.comparingDouble(Scored::score));
+            candidates:
+            for (Map.Entry<String, Integer> candidate : lists.get(0).entrySet()) {
+                String id = candidate.getKey();
+                double norm = K1 * (1 - B + B * questions.get(id).length / averageLength);
+                double score = 0;
+                for (int i = 0; i < lists.size(); i++) {
+                    Integer tf = i == 0 ? candidate.getValue() : lists.get(i).get(id);
+                    if (tf == null) {
+                        continue candidates;
+                    }
+                    score += idf[i] * tf * (K1 + 1) / (tf + norm);
+                }
+                if (top.size() < limit) {
+                    top.add(new Scored(id, score));
+                } else if (score > top.peek().score()) {
+                    top.poll();
+                    top.add(new Scored(id, score));
+                }
+            }
+
+            List<Scored> ranked = new ArrayList<>(top);
+            ranked.sort(Comparator.comparingDouble(Scored::score).reversed().thenComparing(Scored::id));
+            return ranked;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void addLocked(IndexedQuestion question) {
+        addPostings(postings, question);
+        questions.put(question.id, question);
+        totalLength += question.length;
+    }
+
+    private void removeLocked(String questionId) {
+        IndexedQuestion previous = questions.remove(questionId);
+        if (previous == null) {
+            return;
+        }
+        for (String term : previous.frequencies.keySet()) {
+            Map<String, Integer> list = postings.get(term);
+            if (list != null) {
+                list.remove(questionId);
+                if (list.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+        totalLength -= previous.length;
+    }
+
+    private static void addPostings(Map<String, Map<String, Integer>> target, IndexedQuestion question) {
+        for (Map.Entry<String, Integer> entry : question.frequencies.entrySet()) {
+            target.computeIfAbsent(entry.getKey(), term -> new HashMap<>()).put(question.id, entry.getValue());
+        }
+    }
+
+    private static IndexedQuestion analyze(String id, String title, String description, Collection<String> tags) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        int length = addTerms(frequencies, ForumSearchAnalyzer.terms(title), TITLE_WEIGHT)
+                + addTerms(frequencies, ForumSearchAnalyzer.terms(description), DESCRIPTION_WEIGHT);
+        if (tags != null) {
+            for (String tag : tags) {
+                length += addTerms(frequencies, ForumSearchAnalyzer.terms(tag), TAG_WEIGHT);
+            }
+        }
+        return new IndexedQuestion(id, title == null ? "" : title, description == null ? "" : description,
+                frequencies, length);
+    }
+
+    private static int addTerms(Map<String, Integer> frequencies, List<String> terms, int weight) {
+        for (String term : terms) {
+            frequencies.merge(term, weight, Integer::sum);
+        }
+        return terms.size() * weight;
+    }
+
+    // A window of the description around its first matching word, with "..." where it was cut
+    private static String snippet(String description, Set<String> terms) {
+        int first = -1;
+        for (ForumSearchAnalyzer.Token token : ForumSearchAnalyzer.tokenize(description)) {
+            if (terms.contains(token.term())) {
+                first = token.start();
+                break;
+            }
+        }
+        int start = first < 0 ? 0 : Math.max(0, first - SNIPPET_LENGTH / 4);
+        int end = Math.min(description.length(), start + SNIPPET_LENGTH);
+        // Do not cut words in half
+        while (start > 0 && Character.isLetterOrDigit(description.charAt(start - 1))) {
+            start--;
+        }
+        while (end < description.length() && Character.isLetterOrDigit(description.charAt(end))) {
+            end++;
+        }
+        return (start > 0 ? "..." : "") + highlight(description, start, end, terms)
+                + (end < description.length() ? "..." : "");
+    }
+
+    private static String highlight(String text, int start, int end, Set<String> terms) {
+        StringBuilder builder = new StringBuilder(end - start + 32);
+        int position = start;
+        for (ForumSearchAnalyzer.Token token : ForumSearchAnalyzer.tokenize(text.substring(start, end))) {
+            if (terms.contains(token.term())) {
+                escape(builder, text, position, start + token.start());
+                builder.append("<mark>");
+                escape(builder, text, start + token.start(), start + token.end());
+                builder.append("</mark>");
+                position = start + token.end();
+            }
+        }
+        escape(builder, text, position, end);
+        return builder.toString();
+    }
+
+    private static void escape(StringBuilder builder, String text, int from, int to) {
+        for (int i = from; i < to; i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '<' -> builder.append("&lt;");
+                case '>' -> builder.append("&gt;");
+                case '&' -> builder.append("&amp;");
+                case '"' -> builder.append("&quot;");
+                case '\'' -> builder.append("&#39;");
+                default -> builder.append(c);
+            }
+        }
+    }
+
+    private record Scored(String id, double score) {
+    }
+
+    /**
+     * What the index keeps per question: the text for highlighting and its weighted term counts.
+     */
+    private record IndexedQuestion(String id, String title, String description, Map<String, Integer> frequencies,
+                                   int length) {
+    }
+}
@@ -0,0 +1,264 @@
+package com.nexora.server.service.forum;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.model.WriteModel;
+import jakarta.annotation.PreDestroy;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+/**
+ * Buffers forum question views in memory and writes them to Mongo in batches, like PostStatsBuffer
+ * does for posts. A viewer opening the same question again within the dedup window is not counted
+ * twice; at most dedup-max-entries viewers are remembered, the oldest markers going first when full.
+ * Each question also keeps a {@link HyperLogLog} sketch of its viewers, so the number of distinct
+ * viewers is known without storing who they were.
+ *
+ * Every few seconds (and on shutdown) the views recorded since the last flush are written with one
+ * unordered bulkWrite of $inc updates to the questions. Changed sketches are stored in
+ * question_view_sketches as one field per non-empty register, written with $max, so several
+ * instances merge their sketches inside Mongo without overwriting each other. The merged sketch is
+ * read back and its estimate copied to the question's uniqueViewers. A failed flush is retried by
+ * the next one; writing a sketch twice changes nothing.
+ */
+@Component
+public class ForumViewBuffer {
+    private static final Logger LOGGER = Logger.getLogger(ForumViewBuffer.class.getName());
+
+    private static final String QUESTIONS_COLLECTION = "questions";
+    private static final String SKETCHES_COLLECTION = "question_view_sketches";
+    // Sketch document field holding register index -> rank, for the non-empty registers only
+    private static final String RANKS_FIELD = "ranks";
+
+    private final MongoTemplate mongoTemplate;
+    private final long dedupWindowMillis;
+    private final int dedupMaxEntries;
+    private final Map<String, Views> views = new ConcurrentHashMap<>();
+    // Question ID and viewer key -> time until which further views by that viewer are ignored
+    private final Map<String, Long> recentViewers = new ConcurrentHashMap<>();
+
+    public ForumViewBuffer(MongoTemplate mongoTemplate,
+                           @Value("${nexora.forum.views.dedup-minutes:30}") long dedupMinutes,
+                           @Value("${nexora.forum.views.dedup-max-entries:100000}") int dedupMaxEntries) {
+        this.mongoTemplate = mongoTemplate;
+        this.dedupWindowMillis = TimeUnit.MINUTES.toMillis(dedupMinutes);
+        this.dedupMaxEntries = dedupMaxEntries;
+    }
+
+    /**
+     * Counts a view of a question unless the same viewer was counted within the dedup window.
+     *
+     * @param questionId the viewed question
+     * @param viewerKey  identifies the viewer, e.g. their user ID or address
+     * @return true if the view was counted
+     */
+    public boolean recordView(String questionId, String viewerKey) {
+        long now = System.currentTimeMillis();
+        long until = now + dedupWindowMillis;
+        if (recentViewers.size() >= dedupMaxEntries) {
+            evictViewers(now);
+        }
+        boolean[] counted = {false};
+        recentViewers.compute(questionId + '\u0000' + viewerKey, (key, previous) -> {
+            if (previous != null && previous > now) {
+                return previous;
+            }
+            counted[0] = true;
+            return until;
+        });
+        if (!counted[0]) {
+            return false;
+        }
+
+        Views entry = views.computeIfAbsent(questionId, id -> new Views());
+        entry.views.increment();
+        if (entry.viewers.add(viewerKey)) {
+            entry.sketchDirty = true;
+        }
+        return true;
+    }
+
+    /**
+     * Returns the views of a question that are not yet written to Mongo.
+     */
+    public long pendingViews(String questionId) {
+        Views entry = views.get(questionId);
+        return entry == null ? 0 : entry.views.sum() - entry.flushedViews;
+    }
+
+    /**
+     * Returns the estimated number of distinct viewers seen by this instance, or 0 if the question
+     * has not been viewed since its entry was last dropped. Once flushed, the estimate also covers
+     * the viewers stored before.
+     */
+    public long uniqueViewers(String questionId) {
+        Views entry = views.get(questionId);
+        return entry == null ? 0 : entry.viewers.estimate();
+    }
+
+    /**
+     * Writes the views and sketches changed since the last flush, then drops idle entries and
+     * expired dedup markers.
+     */
+    @Scheduled(fixedDelayString = "${nexora.forum.views.flush-ms:5000}")
+    public synchronized void flush() {
+        long now = System.currentTimeMillis();
+        recentViewers.values().removeIf(until -> until <= now);
+
+        Map<String, Views> changed = new HashMap<>();
+        for (Map.Entry<String, Views> entry : views.entrySet()) {
+            Views entryViews = entry.getValue();
+            if (!ObjectId.isValid(entry.getKey())
+                    || (entryViews.views.sum() == entryViews.flushedViews && !entryViews.sketchDirty)) {
+                views.remove(entry.getKey(), entryViews);
+                continue;
+            }
+            changed.put(entry.getKey(), entryViews);
+        }
+        if (changed.isEmpty()) {
+            return;
+        }
+
+        Set<String> dirtyIds = changed.entrySet().stream()
+                .filter(entry -> entry.getValue().sketchDirty)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toSet());
+        try {
+            if (!dirtyIds.isEmpty()) {
+                syncSketches(dirtyIds.stream().collect(Collectors.toMap(id -> id, changed::get)));
+            }
+
+            List<WriteModel<Document>> questionWrites = new ArrayList<>();
+            List<Runnable> commits = new ArrayList<>();
+            for (Map.Entry<String, Views> entry : changed.entrySet()) {
+                Views entryViews = entry.getValue();
+                long total = entryViews.views.sum();
+                Document update = new Document("$inc", new Document("views", total - entryViews.flushedViews));
+                if (dirtyIds.contains(entry.getKey())) {
+                    update.append("$max", new Document("uniqueViewers", entryViews.viewers.estimate()));
+                }
+                questionWrites.add(new UpdateOneModel<>(new Document("_id", new ObjectId(entry.getKey())), update));
+                commits.add(() -> entryViews.flushedViews = total);
+            }
+
+            try {
+                mongoTemplate.getCollection(QUESTIONS_COLLECTION).bulkWrite(questionWrites, new BulkWriteOptions().ordered(false));
+                commits.forEach(Runnable::run);
+            } catch (MongoBulkWriteException e) {
+                // The unordered bulk applied every write but the failed ones
+                Set<Integer> failed = e.getWriteErrors().stream().map(BulkWriteError::getIndex).collect(Collectors.toSet());
+                for (int i = 0; i < commits.size(); i++) {
+                    if (!failed.contains(i)) {
+                        commits.get(i).run();
+                    }
+                }
+                throw e;
+            }
+            LOGGER.fine("Flushed views of " + questionWrites.size() + " questions and " + dirtyIds.size() + " viewer sketches");
+        } catch (Exception e) {
+            for (String questionId : dirtyIds) {
+                // Writing and merging the sketch again on retry is harmless
+                changed.get(questionId).sketchDirty = true;
+            }
+            LOGGER.warning("Failed to flush forum views, will retry: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Raises each stored register of the questions' sketches to at least this instance's value, then
+     * merges the stored sketches, which include the viewers seen by other instances, back in.
+     */
+    private void syncSketches(Map<String, Views> dirty) {
+        MongoCollection<Document> sketches = mongoTemplate.getCollection(SKETCHES_COLLECTION);
+        List<WriteModel<Document>> sketchWrites = new ArrayList<>();
+        for (Map.Entry<String, Views> entry : dirty.entrySet()) {
+            // Cleared before reading the registers, so a viewer added meanwhile marks it dirty again
+            entry.getValue().sketchDirty = false;
+            byte[] registers = entry.getValue().viewers.toBytes();
+            Document ranks = new Document();
+            for (int i = 0; i < registers.length; i++) {
+                if (registers[i] > 0) {
+                    ranks.append(RANKS_FIELD + "." + i, (int) registers[i]);
+                }
+            }
+            if (!ranks.isEmpty()) {
+                sketchWrites.add(new UpdateOneModel<>(new Document("_id", entry.getKey()),
+                        new Document("$max", ranks), new UpdateOptions().upsert(true)));
+            }
+        }
+        if (sketchWrites.isEmpty()) {
+            return;
+        }
+        sketches.bulkWrite(sketchWrites, new BulkWriteOptions().ordered(false));
+
+        for (Document stored : sketches.find(new Document("_id", new Document("$in", List.copyOf(dirty.keySet()))))) {
+            Document ranks = stored.get(RANKS_FIELD, Document.class);
+            if (ranks == null) {
+                continue;
+            }
+            byte[] registers = new byte[HyperLogLog.REGISTER_COUNT];
+            for (Map.Entry<String, Object> rank : ranks.entrySet()) {
+                int index = Integer.parseInt(rank.getKey());
+                if (index >= 0 && index < registers.length && rank.getValue() instanceof Number value) {
+                    registers[index] = value.byteValue();
+                }
+            }
+            dirty.get(stored.getString("_id")).viewers.merge(registers);
+        }
+    }
+
+    // Drops expired markers, then the ones expiring first until a tenth of the room is free, so
+    // eviction stays rare; callers that raced to a full map find it already evicted
+    private void evictViewers(long now) {
+        synchronized (recentViewers) {
+            if (recentViewers.size() < dedupMaxEntries) {
+                return;
+            }
+            recentViewers.values().removeIf(until -> until <= now);
+            int excess = recentViewers.size() - dedupMaxEntries + Math.max(1, dedupMaxEntries / 10);
+            if (excess <= 0) {
+                return;
+            }
+            recentViewers.entrySet().stream()
+                    .sorted(Map.Entry.comparingByValue())
+                    .limit(excess)
+                    .map(Map.Entry::getKey)
+                    .toList()
+                    .forEach(recentViewers::remove);
+        }
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+    }
+
+    /**
+     * Running totals for one question. flushedViews is only touched by {@link #flush()}.
+     */
+    private static final class Views {
+        private final LongAdder views = new LongAdder();
+        private final HyperLogLog viewers = new HyperLogLog();
+        private volatile long flushedViews;
+        private volatile boolean sketchDirty;
+    }
+}
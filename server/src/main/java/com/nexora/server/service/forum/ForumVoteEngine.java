@@ -0,0 +1,119 @@
+package com.nexora.server.service.forum;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Applies up/down votes to forum questions and comments with conditional findAndModify calls.
+ * Both documents keep the voters in upvoteUserIds/downvoteUserIds and the tallies in
+ * upvoteCount, downvoteCount and score. Each transition (add, remove, switch) is one update whose
+ * filter only matches when the user's current vote allows it, so the arrays and the counters
+ * always change together and concurrent votes cannot overwrite each other.
+ * Voting the same way twice removes the vote; voting the other way switches it.
+ *
+ * When none of the transitions matches, the same user's vote changed in between, which means
+ * another of their votes was applied. The vote is then retried; after a few misses each retry
+ * waits a short random time so a burst of votes by one user spreads out, and after MAX_ATTEMPTS
+ * the vote gives up rather than hold the request thread.
+ */
+@Component
+public class ForumVoteEngine {
+
+    // Misses retried at once before backing off; the backoff bound doubles per miss, up to 16x
+    private static final int IMMEDIATE_RETRIES = 3;
+    private static final long BASE_BACKOFF_MICROS = 500;
+    // About a quarter of a second of backoff in the worst case
+    private static final int MAX_ATTEMPTS = 32;
+
+    public enum Direction { UP, DOWN }
+
+    public enum Change { ADDED, REMOVED, SWITCHED }
+
+    /**
+     * The voted document as it is right after the vote, and what the vote did.
+     */
+    public record VoteOutcome<T>(T document, Change change) {
+    }
+
+    private final MongoTemplate mongoTemplate;
+    private final Counter conflictCounter;
+
+    public ForumVoteEngine(MongoTemplate mongoTemplate, MeterRegistry meterRegistry) {
+        this.mongoTemplate = mongoTemplate;
+        this.conflictCounter = meterRegistry.counter("forum.votes.conflicts");
+    }
+
+    /**
+     * Records a user's vote on a question or comment.
+     *
+     * @param type      ForumQuestion or ForumComment
+     * @param id        the ID of the document
+     * @param userId    the voter
+     * @param direction up or down
+     * @return the updated document and the change made, or null if the document does not exist
+     * @throws OptimisticLockingFailureException if the user's other votes kept changing the document
+     *                                           for MAX_ATTEMPTS attempts
+     */
+    public <T> VoteOutcome<T> vote(Class<T> type, String id, String userId, Direction direction) {
+        boolean up = direction == Direction.UP;
+        String voters = up ? "upvoteUserIds" : "downvoteUserIds";
+        String otherVoters = up ? "downvoteUserIds" : "upvoteUserIds";
+        String count = up ? "upvoteCount" : "downvoteCount";
+        String otherCount = up ? "downvoteCount" : "upvoteCount";
+        int sign = up ? 1 : -1;
+
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            if (attempt > 0) {
+                conflictCounter.increment();
+            }
+            if (attempt > IMMEDIATE_RETRIES) {
+                LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(
+                        ThreadLocalRandom.current().nextLong(BASE_BACKOFF_MICROS << Math.min(attempt - IMMEDIATE_RETRIES - 1, 4))));
+            }
+
+            // Most votes are new, so try that transition first
+            T document = apply(type,
+                    Criteria.where("id").is(id).and(voters).ne(userId).and(otherVoters).ne(userId),
+                    new Update().addToSet(voters, userId).inc(count, 1).inc("score", sign));
+            if (document != null) {
+                return new VoteOutcome<>(document, Change.ADDED);
+            }
+
+            document = apply(type,
+                    Criteria.where("id").is(id).and(voters).is(userId),
+                    new Update().pull(voters, userId).inc(count, -1).inc("score", -sign));
+            if (document != null) {
+                return new VoteOutcome<>(document, Change.REMOVED);
+            }
+
+            document = apply(type,
+                    Criteria.where("id").is(id).and(otherVoters).is(userId).and(voters).ne(userId),
+                    new Update().pull(otherVoters, userId).addToSet(voters, userId)
+                            .inc(otherCount, -1).inc(count, 1).inc("score", 2 * sign));
+            if (document != null) {
+                return new VoteOutcome<>(document, Change.SWITCHED);
+            }
+
+            if (!mongoTemplate.exists(new Query(Criteria.where("id").is(id)), type)) {
+                return null;
+            }
+        }
+        throw new OptimisticLockingFailureException("Vote kept conflicting with the user's other votes");
+    }
+
+    private <T> T apply(Class<T> type, Criteria criteria, Update update) {
+        return mongoTemplate.findAndModify(new Query(criteria), update,
+                FindAndModifyOptions.options().returnNew(true), type);
+    }
+}
@@ -0,0 +1,53 @@
+package com.nexora.server.service.media;
+
+import com.cloudinary.Cloudinary;
+import com.cloudinary.utils.ObjectUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Stores media on Cloudinary. Deletes assets with one Admin API call per batch.
+ */
+@Component
+@ConditionalOnProperty(name = "nexora.media.backend", havingValue = "cloudinary", matchIfMissing = true)
+public class CloudinaryMediaStore implements MediaStore {
+
+    @Autowired
+    private Cloudinary cloudinary;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public StoredMedia store(Path file, String contentType, Map<String, Object> options) throws IOException {
+        Map<String, Object> uploadResult = cloudinary.uploader().upload(file.toFile(), options);
+        Object secureUrl = uploadResult.get("secure_url");
+        Object duration = uploadResult.get("duration");
+        return new StoredMedia(
+                String.valueOf(secureUrl != null ? secureUrl : uploadResult.get("url")),
+                String.valueOf(uploadResult.get("public_id")),
+                String.valueOf(uploadResult.get("resource_type")),
+                duration != null ? Double.parseDouble(duration.toString()) : null);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Set<String> deleteAll(String resourceType, List<String> publicIds) throws Exception {
+        Map<String, Object> result = cloudinary.api().deleteResources(publicIds,
+                ObjectUtils.asMap("resource_type", resourceType));
+        Map<String, Object> deleted = (Map<String, Object>) result.get("deleted");
+        if (deleted == null) {
+            return Set.of();
+        }
+        return deleted.entrySet().stream()
+                .filter(entry -> "deleted".equals(entry.getValue()) || "not_found".equals(entry.getValue()))
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,56 @@
+package com.nexora.server.service.media;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-memory stand-in for the media backend, for running and testing the cleanup queue offline.
+ * Stored files are not kept; they get a placeholder URL. Enabled with nexora.media.backend=fake.
+ */
+@Component
+@ConditionalOnProperty(name = "nexora.media.backend", havingValue = "fake")
+public class FakeMediaStore implements MediaStore {
+
+    private final Set<String> deleted = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger failuresToInject = new AtomicInteger();
+
+    @Override
+    public StoredMedia store(Path file, String contentType, Map<String, Object> options) throws IOException {
+        String resourceType = LocalMediaStore.resourceTypeOf(contentType, options);
+        String publicId = UUID.randomUUID().toString();
+        return new StoredMedia("https://fake.media/" + resourceType + "/" + publicId, publicId, resourceType, null);
+    }
+
+    @Override
+    public Set<String> deleteAll(String resourceType, List<String> publicIds) throws Exception {
+        if (failuresToInject.getAndUpdate(remaining -> Math.max(remaining - 1, 0)) > 0) {
+            throw new IllegalStateException("Injected media backend failure");
+        }
+        publicIds.forEach(publicId -> deleted.add(resourceType + "/" + publicId));
+        return new HashSet<>(publicIds);
+    }
+
+    /**
+     * Makes the next given number of batches fail.
+     */
+    public void failNextBatches(int count) {
+        failuresToInject.set(count);
+    }
+
+    /**
+     * Returns the deleted assets as "resourceType/publicId".
+     */
+    public Set<String> getDeleted() {
+        return Set.copyOf(deleted);
+    }
+}
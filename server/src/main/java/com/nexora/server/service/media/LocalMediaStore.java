@@ -0,0 +1,114 @@
+package com.nexora.server.service.media;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+
+/**
+ * Stores media on the local disk under {@code <root>/<resourceType>/<publicId>}, where the public ID
+ * is a random name with the file extension. Files are served by
+ * {@link com.nexora.server.controller.MediaController} under the configured public URL.
+ * Enabled with nexora.media.backend=local, for on-prem installs and offline benchmarking.
+ */
+@Component
+@ConditionalOnProperty(name = "nexora.media.backend", havingValue = "local")
+public class LocalMediaStore implements MediaStore {
+    private static final Logger LOGGER = Logger.getLogger(LocalMediaStore.class.getName());
+
+    private static final Set<String> RESOURCE_TYPES = Set.of("image", "video", "raw");
+    private static final Pattern FILE_NAME = Pattern.compile("[A-Za-z0-9_-]+(\\.[A-Za-z0-9]{1,8})?");
+    private static final Map<String, String> EXTENSIONS = Map.of(
+            "image/jpeg", ".jpg",
+            "image/png", ".png",
+            "image/gif", ".gif",
+            "image/webp", ".webp",
+            "video/mp4", ".mp4",
+            "video/webm", ".webm",
+            "video/quicktime", ".mov");
+
+    private final Path root;
+    private final String publicUrl;
+
+    public LocalMediaStore(@Value("${nexora.media.local.root:media}") String root,
+                           @Value("${nexora.media.local.public-url:http://localhost:8080/media}") String publicUrl)
+            throws IOException {
+        this.root = Path.of(root).toAbsolutePath().normalize();
+        this.publicUrl = publicUrl.endsWith("/") ? publicUrl.substring(0, publicUrl.length() - 1) : publicUrl;
+        for (String resourceType : RESOURCE_TYPES) {
+            Files.createDirectories(this.root.resolve(resourceType));
+        }
+        LOGGER.info("Storing media under " + this.root);
+    }
+
+    /**
+     * Picks the Cloudinary-style resource type of an upload: an explicit resource_type option wins,
+     * otherwise it follows the content type.
+     */
+    static String resourceTypeOf(String contentType, Map<String, Object> options) {
+        Object requested = options.get("resource_type");
+        if (requested != null && RESOURCE_TYPES.contains(requested.toString())) {
+            return requested.toString();
+        }
+        if (contentType != null && contentType.startsWith("image/")) {
+            return "image";
+        }
+        if (contentType != null && contentType.startsWith("video/")) {
+            return "video";
+        }
+        return "raw";
+    }
+
+    @Override
+    public StoredMedia store(Path file, String contentType, Map<String, Object> options) throws IOException {
+        String resourceType = resourceTypeOf(contentType, options);
+        String extension = contentType != null ? EXTENSIONS.getOrDefault(contentType.toLowerCase(), "") : "";
+        String publicId = UUID.randomUUID() + extension;
+
+        Path target = root.resolve(resourceType).resolve(publicId);
+        Files.copy(file, target, StandardCopyOption.REPLACE_EXISTING);
+        return new StoredMedia(publicUrl + "/" + resourceType + "/" + publicId, publicId, resourceType, null);
+    }
+
+    @Override
+    public Set<String> deleteAll(String resourceType, List<String> publicIds) throws Exception {
+        Set<String> gone = new HashSet<>();
+        for (String publicId : publicIds) {
+            Path path = resolve(resourceType, publicId);
+            if (path == null) {
+                // Not a file this store could have written, so there is nothing to delete
+                gone.add(publicId);
+                continue;
+            }
+            Files.deleteIfExists(path);
+            gone.add(publicId);
+        }
+        return gone;
+    }
+
+    /**
+     * Returns the path of a stored file, or null if the names cannot refer to one.
+     * Only plain file names are accepted, so the result never leaves the store's root.
+     *
+     * @param resourceType image, video or raw
+     * @param publicId     the file name
+     * @return the path of the file, which may not exist
+     */
+    public Path resolve(String resourceType, String publicId) {
+        if (!RESOURCE_TYPES.contains(resourceType) || publicId == null || !FILE_NAME.matcher(publicId).matches()) {
+            return null;
+        }
+        return root.resolve(resourceType).resolve(publicId);
+    }
+}
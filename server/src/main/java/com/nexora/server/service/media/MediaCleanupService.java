@@ -0,0 +1,40 @@
+package com.nexora.server.service.media;
+
+import com.nexora.server.model.MediaDeletion;
+import com.nexora.server.repository.MediaDeletionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.logging.Logger;
+
+/**
+ * Schedules remote media assets for deletion.
+ * Callers only write an outbox entry; MediaCleanupWorker deletes the asset in the background.
+ */
+@Service
+public class MediaCleanupService {
+    private static final Logger LOGGER = Logger.getLogger(MediaCleanupService.class.getName());
+
+    @Autowired
+    private MediaDeletionRepository mediaDeletionRepository;
+
+    /**
+     * Queues an asset for deletion.
+     *
+     * @param publicId     the public ID of the asset
+     * @param resourceType the resource type of the asset ("image", "video" or "raw")
+     */
+    public void scheduleDeletion(String publicId, String resourceType) {
+        if (publicId == null || publicId.isBlank()) {
+            return;
+        }
+        MediaDeletion deletion = new MediaDeletion();
+        deletion.setPublicId(publicId);
+        deletion.setResourceType(resourceType != null ? resourceType : "image");
+        deletion.setCreatedAt(LocalDateTime.now());
+        deletion.setNextAttemptAt(deletion.getCreatedAt());
+        mediaDeletionRepository.save(deletion);
+        LOGGER.fine("Scheduled deletion of " + deletion.getResourceType() + " asset " + publicId);
+    }
+}
@@ -0,0 +1,154 @@
+package com.nexora.server.service.media;
+
+import com.nexora.server.model.MediaDeletion;
+import com.nexora.server.repository.MediaDeletionRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+/**
+ * Drains the media deletion outbox in the background.
+ * Due entries are grouped by resource type and deleted in batches. Failed entries are retried
+ * with exponential backoff and marked DEAD after {@link #MAX_ATTEMPTS} attempts.
+ */
+@Component
+public class MediaCleanupWorker {
+    private static final Logger LOGGER = Logger.getLogger(MediaCleanupWorker.class.getName());
+
+    // Largest batch accepted by the Cloudinary delete resources API
+    public static final int BATCH_SIZE = 100;
+
+    static final int MAX_ATTEMPTS = 8;
+    static final Duration BASE_BACKOFF = Duration.ofSeconds(30);
+    static final Duration MAX_BACKOFF = Duration.ofHours(6);
+
+    // Claimed entries are hidden from other runs for this long
+    private static final Duration CLAIM_LEASE = Duration.ofMinutes(5);
+
+    private final MediaDeletionRepository mediaDeletionRepository;
+    private final MongoTemplate mongoTemplate;
+    private final MediaDeletionBackend backend;
+    private final Counter deletedCounter;
+    private final Counter retriedCounter;
+    private final Counter deadCounter;
+
+    public MediaCleanupWorker(MediaDeletionRepository mediaDeletionRepository, MongoTemplate mongoTemplate,
+                              MediaDeletionBackend backend, MeterRegistry meterRegistry) {
+        this.mediaDeletionRepository = mediaDeletionRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.backend = backend;
+        this.deletedCounter = meterRegistry.counter("media.cleanup.deleted");
+        this.retriedCounter = meterRegistry.counter("media.cleanup.retried");
+        this.deadCounter = meterRegistry.counter("media.cleanup.dead");
+    }
+
+    /**
+     * Processes one batch of due deletions per resource type.
+     */
+    @Scheduled(fixedDelayString = "${nexora.media.cleanup.interval-ms:10000}")
+    public void drain() {
+        try {
+            List<MediaDeletion> due = claimDue();
+            Map<String, List<MediaDeletion>> byResourceType = due.stream()
+                    .collect(Collectors.groupingBy(MediaDeletion::getResourceType));
+            byResourceType.forEach(this::process);
+        } catch (Exception e) {
+            LOGGER.warning("Media cleanup run failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Leases due entries to this run: pushes their next attempt past the lease and tags them with a
+     * fresh claim ID, then reads back only the entries carrying that ID. The update only matches
+     * entries that are still due, so each one is leased by exactly one of several concurrent runs.
+     */
+    private List<MediaDeletion> claimDue() {
+        LocalDateTime now = LocalDateTime.now();
+        List<MediaDeletion> due = mediaDeletionRepository.findByStatusAndNextAttemptAtLessThanEqualOrderByNextAttemptAt(
+                MediaDeletion.Status.PENDING, now, PageRequest.of(0, BATCH_SIZE));
+        if (due.isEmpty()) {
+            return due;
+        }
+        List<String> ids = due.stream().map(MediaDeletion::getId).toList();
+        String claimId = UUID.randomUUID().toString();
+        long claimed = mongoTemplate.updateMulti(
+                new Query(Criteria.where("id").in(ids)
+                        .and("status").is(MediaDeletion.Status.PENDING)
+                        .and("nextAttemptAt").lte(now)),
+                new Update().set("nextAttemptAt", now.plus(CLAIM_LEASE)).set("claimId", claimId),
+                MediaDeletion.class).getModifiedCount();
+        if (claimed == 0) {
+            return List.of();
+        }
+        return mongoTemplate.find(new Query(Criteria.where("id").in(ids).and("claimId").is(claimId)), MediaDeletion.class);
+    }
+
+    private void process(String resourceType, List<MediaDeletion> deletions) {
+        List<String> publicIds = deletions.stream().map(MediaDeletion::getPublicId).distinct().toList();
+        Set<String> gone;
+        String error = null;
+        try {
+            gone = backend.deleteAll(resourceType, publicIds);
+        } catch (Exception e) {
+            gone = Set.of();
+            error = e.getMessage();
+        }
+
+        List<String> completed = new ArrayList<>();
+        BulkOperations failures = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, MediaDeletion.class);
+        int failed = 0;
+        for (MediaDeletion deletion : deletions) {
+            if (gone.contains(deletion.getPublicId())) {
+                completed.add(deletion.getId());
+                continue;
+            }
+            failed++;
+            int attempts = deletion.getAttempts() + 1;
+            Update update = new Update()
+                    .set("attempts", attempts)
+                    .set("lastError", error != null ? error : "Asset was not deleted");
+            if (attempts >= MAX_ATTEMPTS) {
+                update.set("status", MediaDeletion.Status.DEAD);
+                deadCounter.increment();
+                LOGGER.warning("Giving up on deleting " + resourceType + " asset " + deletion.getPublicId());
+            } else {
+                update.set("nextAttemptAt", LocalDateTime.now().plus(backoff(attempts)));
+                retriedCounter.increment();
+            }
+            failures.updateOne(new Query(Criteria.where("id").is(deletion.getId())), update);
+        }
+
+        if (!completed.isEmpty()) {
+            mediaDeletionRepository.deleteAllById(completed);
+            deletedCounter.increment(completed.size());
+        }
+        if (failed > 0) {
+            failures.execute();
+        }
+    }
+
+    /**
+     * Returns the delay before the next attempt: BASE_BACKOFF doubled per failed attempt, capped at MAX_BACKOFF.
+     */
+    static Duration backoff(int attempts) {
+        Duration delay = BASE_BACKOFF.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : delay;
+    }
+}
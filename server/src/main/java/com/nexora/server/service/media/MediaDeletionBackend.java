@@ -0,0 +1,20 @@
+package com.nexora.server.service.media;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Store that media deletions are sent to. See {@link MediaStore}.
+ */
+public interface MediaDeletionBackend {
+
+    /**
+     * Deletes a batch of assets of one resource type.
+     *
+     * @param resourceType the resource type shared by all assets in the batch
+     * @param publicIds    the public IDs of the assets, at most {@link MediaCleanupWorker#BATCH_SIZE}
+     * @return the public IDs that no longer exist, whether they were deleted now or were already gone
+     * @throws Exception if the whole batch failed
+     */
+    Set<String> deleteAll(String resourceType, List<String> publicIds) throws Exception;
+}
@@ -0,0 +1,157 @@
+package com.nexora.server.service.media;
+
+import com.nexora.server.model.MediaAsset;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * Content-addressed registry of uploaded media.
+ * Each upload is hashed while it is copied to a temporary file; if an asset with the same hash
+ * already exists, its reference count is bumped and its URL returned without touching the {@link MediaStore}.
+ * Releasing a reference only schedules the remote deletion once the last reference is gone.
+ */
+@Service
+public class MediaRegistry {
+    private static final Logger LOGGER = Logger.getLogger(MediaRegistry.class.getName());
+
+    private final MediaStore mediaStore;
+    private final MongoTemplate mongoTemplate;
+    private final MediaCleanupService mediaCleanupService;
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    public MediaRegistry(MediaStore mediaStore, MongoTemplate mongoTemplate,
+                         MediaCleanupService mediaCleanupService, MeterRegistry meterRegistry) {
+        this.mediaStore = mediaStore;
+        this.mongoTemplate = mongoTemplate;
+        this.mediaCleanupService = mediaCleanupService;
+        this.hitCounter = meterRegistry.counter("media.dedup.hits");
+        this.missCounter = meterRegistry.counter("media.dedup.misses");
+    }
+
+    /**
+     * Stores a file, reusing an existing asset with identical content.
+     * The caller owns one reference to the returned asset and must {@link #release} it when done.
+     *
+     * @param file          the uploaded file
+     * @param uploadOptions upload options passed to the media store, used only when the content is new
+     * @return the registered asset
+     * @throws IOException if the file cannot be read or uploaded
+     */
+    public MediaAsset upload(MultipartFile file, Map<String, Object> uploadOptions) throws IOException {
+        Path tempFile = Files.createTempFile("nexora-media-", null);
+        try {
+            String hash;
+            try (InputStream in = new DigestInputStream(file.getInputStream(), sha256())) {
+                Files.copy(in, tempFile, StandardCopyOption.REPLACE_EXISTING);
+                hash = HexFormat.of().formatHex(((DigestInputStream) in).getMessageDigest().digest());
+            }
+
+            MediaAsset existing = acquire(hash);
+            if (existing != null) {
+                hitCounter.increment();
+                return existing;
+            }
+            missCounter.increment();
+            return register(hash, tempFile, file.getContentType(), uploadOptions);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    /**
+     * Drops one reference to the asset at the given URL. When it was the last one, the asset is
+     * unregistered and queued for deletion. URLs uploaded before the registry existed are not
+     * registered and are queued for deletion directly.
+     *
+     * @param url                  the URL of the asset
+     * @param fallbackPublicId     public ID to delete if the URL is not registered
+     * @param fallbackResourceType resource type to delete if the URL is not registered
+     */
+    public void release(String url, String fallbackPublicId, String fallbackResourceType) {
+        if (url == null) {
+            return;
+        }
+        MediaAsset asset = mongoTemplate.findAndModify(
+                new Query(Criteria.where("url").is(url)),
+                new Update().inc("refCount", -1),
+                FindAndModifyOptions.options().returnNew(true),
+                MediaAsset.class);
+        if (asset == null) {
+            mediaCleanupService.scheduleDeletion(fallbackPublicId, fallbackResourceType);
+            return;
+        }
+        if (asset.getRefCount() > 0) {
+            return;
+        }
+        // Only delete if nobody acquired the asset again in the meantime
+        long removed = mongoTemplate.remove(
+                new Query(Criteria.where("id").is(asset.getId()).and("refCount").lte(0)),
+                MediaAsset.class).getDeletedCount();
+        if (removed > 0) {
+            mediaCleanupService.scheduleDeletion(asset.getPublicId(), asset.getResourceType());
+        }
+    }
+
+    // Adds a reference to an existing asset, or returns null if the content is new
+    private MediaAsset acquire(String hash) {
+        return mongoTemplate.findAndModify(
+                new Query(Criteria.where("id").is(hash)),
+                new Update().inc("refCount", 1),
+                FindAndModifyOptions.options().returnNew(true),
+                MediaAsset.class);
+    }
+
+    private MediaAsset register(String hash, Path tempFile, String contentType,
+                                Map<String, Object> uploadOptions) throws IOException {
+        MediaStore.StoredMedia stored = mediaStore.store(tempFile, contentType, uploadOptions);
+
+        MediaAsset asset = new MediaAsset();
+        asset.setId(hash);
+        asset.setUrl(stored.url());
+        asset.setPublicId(stored.publicId());
+        asset.setResourceType(stored.resourceType());
+        asset.setDuration(stored.duration());
+        asset.setSize(Files.size(tempFile));
+        asset.setRefCount(1);
+        asset.setCreatedAt(LocalDateTime.now());
+        try {
+            return mongoTemplate.insert(asset);
+        } catch (DuplicateKeyException e) {
+            // The same content was uploaded concurrently; keep the winner and drop our copy
+            LOGGER.fine("Concurrent upload of " + hash + ", discarding duplicate " + asset.getPublicId());
+            mediaCleanupService.scheduleDeletion(asset.getPublicId(), asset.getResourceType());
+            MediaAsset winner = acquire(hash);
+            return winner != null ? winner : register(hash, tempFile, contentType, uploadOptions);
+        }
+    }
+
+    private MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.nexora.server.service.media;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * Backend that media files are stored in and deleted from.
+ * Exactly one implementation is active, selected with nexora.media.backend
+ * (cloudinary, local or fake).
+ */
+public interface MediaStore extends MediaDeletionBackend {
+
+    /**
+     * Stores a file and returns where it can be fetched from.
+     *
+     * @param file        the file to store; it is left in place and owned by the caller
+     * @param contentType the content type reported by the client, may be null
+     * @param options     Cloudinary-style upload options such as folder and resource_type;
+     *                    backends ignore the ones they do not understand
+     * @return the stored object
+     * @throws IOException if the file cannot be read or stored
+     */
+    StoredMedia store(Path file, String contentType, Map<String, Object> options) throws IOException;
+
+    /**
+     * A stored file.
+     *
+     * @param url          the public URL of the file
+     * @param publicId     the ID to delete the file with
+     * @param resourceType image, video or raw
+     * @param duration     the duration in seconds of audio and video files, null if unknown
+     */
+    record StoredMedia(String url, String publicId, String resourceType, Double duration) {
+    }
+}
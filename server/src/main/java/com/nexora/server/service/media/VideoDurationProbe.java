@@ -0,0 +1,297 @@
+package com.nexora.server.service.media;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads the duration of a video from its container headers without decoding it.
+ * Supports MP4/QuickTime (the {@code mvhd} box, or {@code mehd} for fragmented files) and
+ * WebM/Matroska (the Duration element of the segment Info). Only box and element headers are
+ * read; everything else, including the media data, is skipped.
+ */
+public final class VideoDurationProbe {
+
+    private static final int EBML_HEADER = 0x1A45DFA3;
+    private static final int SEGMENT = 0x18538067;
+    private static final int INFO = 0x1549A966;
+    private static final int CLUSTER = 0x1F43B675;
+    private static final int TIMECODE_SCALE = 0x2AD7B1;
+    private static final int DURATION = 0x4489;
+    private static final long UNKNOWN_SIZE = -1;
+    // Info holds a handful of small elements; anything bigger is not a real header
+    private static final long MAX_INFO_SIZE = 64 * 1024;
+
+    private VideoDurationProbe() {
+    }
+
+    /**
+     * Returns the duration of the video in the stream. The stream is not closed.
+     *
+     * @param in the video file
+     * @return the duration in seconds, or null if the container is valid but does not record it
+     *         (e.g. WebM written by a live recorder)
+     * @throws IllegalArgumentException if the file is not a well-formed MP4 or WebM container
+     * @throws IOException              if the stream cannot be read
+     */
+    public static Double durationSeconds(InputStream in) throws IOException {
+        BufferedInputStream buffered = new BufferedInputStream(in);
+        buffered.mark(8);
+        byte[] magic = buffered.readNBytes(8);
+        buffered.reset();
+        if (magic.length < 8) {
+            throw new IllegalArgumentException("File is too short to be a video");
+        }
+
+        DataInputStream data = new DataInputStream(buffered);
+        try {
+            if (readInt(magic, 0) == EBML_HEADER) {
+                return webmDuration(data);
+            }
+            if (isMp4BoxType(new String(magic, 4, 4, StandardCharsets.ISO_8859_1))) {
+                return mp4Duration(data);
+            }
+        } catch (EOFException e) {
+            throw new IllegalArgumentException("Video container is truncated");
+        }
+        throw new IllegalArgumentException("Not an MP4 or WebM file");
+    }
+
+    private static boolean isMp4BoxType(String type) {
+        return type.equals("ftyp") || type.equals("moov") || type.equals("mdat")
+                || type.equals("free") || type.equals("skip") || type.equals("wide");
+    }
+
+    // MP4 / QuickTime
+
+    private static Double mp4Duration(DataInputStream in) throws IOException {
+        while (true) {
+            long[] box = readBoxHeader(in, true);
+            if (box == null) {
+                throw new IllegalArgumentException("MP4 file has no moov box");
+            }
+            if (box[0] == fourCc("moov")) {
+                return moovDuration(in, box[1]);
+            }
+            if (box[1] == UNKNOWN_SIZE) {
+                // The box runs to the end of the file, so there is no moov after it
+                throw new IllegalArgumentException("MP4 file has no moov box");
+            }
+            skipFully(in, box[1]);
+        }
+    }
+
+    private static Double moovDuration(DataInputStream in, long size) throws IOException {
+        long timescale = 0;
+        long duration = 0;
+        // A moov of unknown size runs to the end of the file
+        long remaining = size == UNKNOWN_SIZE ? Long.MAX_VALUE : size;
+        while (remaining > 0) {
+            long[] box = readBoxHeader(in, size == UNKNOWN_SIZE);
+            if (box == null) {
+                break;
+            }
+            long boxSize = box[1];
+            remaining -= box[2] + boxSize;
+            if (remaining < 0) {
+                throw new IllegalArgumentException("MP4 box overruns its parent");
+            }
+
+            if (box[0] == fourCc("mvhd")) {
+                int version = in.readUnsignedByte();
+                skipFully(in, 3 + (version == 1 ? 16 : 8));
+                timescale = in.readInt() & 0xFFFFFFFFL;
+                duration = version == 1 ? in.readLong() : in.readInt() & 0xFFFFFFFFL;
+                if (version == 0 && duration == 0xFFFFFFFFL) {
+                    duration = 0;
+                }
+                if (timescale == 0) {
+                    throw new IllegalArgumentException("MP4 movie header has no timescale");
+                }
+                skipFully(in, boxSize - (version == 1 ? 32 : 20));
+                if (duration > 0) {
+                    return (double) duration / timescale;
+                }
+            } else if (box[0] == fourCc("mvex") && timescale > 0) {
+                // Fragmented file: the total duration is in the movie extends header, if anywhere
+                Long fragmentDuration = mehdDuration(in, boxSize);
+                return fragmentDuration != null && fragmentDuration > 0 ? (double) fragmentDuration / timescale : null;
+            } else {
+                skipFully(in, boxSize);
+            }
+        }
+        if (timescale == 0) {
+            throw new IllegalArgumentException("MP4 file has no movie header");
+        }
+        return null;
+    }
+
+    private static Long mehdDuration(DataInputStream in, long size) throws IOException {
+        long remaining = size;
+        while (remaining > 0) {
+            long[] box = readBoxHeader(in, false);
+            remaining -= box[2] + box[1];
+            if (box[0] == fourCc("mehd")) {
+                int version = in.readUnsignedByte();
+                skipFully(in, 3);
+                return version == 1 ? in.readLong() : in.readInt() & 0xFFFFFFFFL;
+            }
+            skipFully(in, box[1]);
+        }
+        return null;
+    }
+
+    /**
+     * Reads a box header.
+     *
+     * @return {type, payload size or UNKNOWN_SIZE, header size}, or null at the end of the stream
+     *         when allowed
+     */
+    private static long[] readBoxHeader(DataInputStream in, boolean endAllowed) throws IOException {
+        int first = in.read();
+        if (first < 0) {
+            if (endAllowed) {
+                return null;
+            }
+            throw new EOFException();
+        }
+        long size = ((long) first << 24) | (in.readUnsignedByte() << 16) | in.readUnsignedShort();
+        long type = in.readInt() & 0xFFFFFFFFL;
+        long headerSize = 8;
+        if (size == 1) {
+            size = in.readLong();
+            headerSize = 16;
+        } else if (size == 0) {
+            return new long[]{type, UNKNOWN_SIZE, headerSize};
+        }
+        if (size < headerSize) {
+            throw new IllegalArgumentException("MP4 box has an invalid size");
+        }
+        return new long[]{type, size - headerSize, headerSize};
+    }
+
+    private static long fourCc(String type) {
+        return readInt(type.getBytes(StandardCharsets.ISO_8859_1), 0) & 0xFFFFFFFFL;
+    }
+
+    // WebM / Matroska
+
+    private static Double webmDuration(DataInputStream in) throws IOException {
+        readElementId(in);
+        long headerSize = readElementSize(in);
+        if (headerSize == UNKNOWN_SIZE) {
+            throw new IllegalArgumentException("EBML header has no size");
+        }
+        skipFully(in, headerSize);
+
+        if (readElementId(in) != SEGMENT) {
+            throw new IllegalArgumentException("WebM file has no segment");
+        }
+        readElementSize(in);
+        while (true) {
+            int id = readElementId(in);
+            long size = readElementSize(in);
+            if (id == INFO) {
+                if (size == UNKNOWN_SIZE || size > MAX_INFO_SIZE) {
+                    throw new IllegalArgumentException("WebM segment info has an invalid size");
+                }
+                return infoDuration(in, size);
+            }
+            if (id == CLUSTER || size == UNKNOWN_SIZE) {
+                // Media data starts before any segment info
+                throw new IllegalArgumentException("WebM file has no segment info");
+            }
+            skipFully(in, size);
+        }
+    }
+
+    private static Double infoDuration(DataInputStream in, long size) throws IOException {
+        long timecodeScale = 1_000_000;
+        Double duration = null;
+        byte[] info = new byte[(int) size];
+        in.readFully(info);
+        DataInputStream fields = new DataInputStream(new ByteArrayInputStream(info));
+        while (fields.available() > 0) {
+            int id = readElementId(fields);
+            long fieldSize = readElementSize(fields);
+            if (fieldSize == UNKNOWN_SIZE || fieldSize > fields.available()) {
+                throw new IllegalArgumentException("WebM segment info is malformed");
+            }
+            if (id == TIMECODE_SCALE && fieldSize <= 8) {
+                timecodeScale = 0;
+                for (int i = 0; i < fieldSize; i++) {
+                    timecodeScale = (timecodeScale << 8) | fields.readUnsignedByte();
+                }
+            } else if (id == DURATION && fieldSize == 4) {
+                duration = (double) fields.readFloat();
+            } else if (id == DURATION && fieldSize == 8) {
+                duration = fields.readDouble();
+            } else {
+                skipFully(fields, fieldSize);
+            }
+        }
+        if (duration == null || duration <= 0) {
+            return null;
+        }
+        // Duration is counted in ticks of TimecodeScale nanoseconds
+        return duration * timecodeScale / 1_000_000_000d;
+    }
+
+    // Element IDs keep their length marker bits, as the Matroska spec writes them
+    private static int readElementId(DataInputStream in) throws IOException {
+        int first = in.readUnsignedByte();
+        int length = Integer.numberOfLeadingZeros(first) - 23;
+        if (length < 1 || length > 4) {
+            throw new IllegalArgumentException("Invalid EBML element ID");
+        }
+        int id = first;
+        for (int i = 1; i < length; i++) {
+            id = (id << 8) | in.readUnsignedByte();
+        }
+        return id;
+    }
+
+    private static long readElementSize(DataInputStream in) throws IOException {
+        int first = in.readUnsignedByte();
+        int length = Integer.numberOfLeadingZeros(first) - 23;
+        if (length < 1 || length > 8) {
+            throw new IllegalArgumentException("Invalid EBML element size");
+        }
+        long value = first & (0xFF >> length);
+        boolean allOnes = value == (0xFF >> length);
+        for (int i = 1; i < length; i++) {
+            int next = in.readUnsignedByte();
+            allOnes &= next == 0xFF;
+            value = (value << 8) | next;
+        }
+        return allOnes ? UNKNOWN_SIZE : value;
+    }
+
+    // Shared helpers
+
+    private static int readInt(byte[] bytes, int offset) {
+        return ((bytes[offset] & 0xFF) << 24) | ((bytes[offset + 1] & 0xFF) << 16)
+                | ((bytes[offset + 2] & 0xFF) << 8) | (bytes[offset + 3] & 0xFF);
+    }
+
+    private static void skipFully(InputStream in, long count) throws IOException {
+        if (count < 0) {
+            throw new IllegalArgumentException("Negative size in video container");
+        }
+        long remaining = count;
+        while (remaining > 0) {
+            long skipped = in.skip(remaining);
+            if (skipped <= 0) {
+                if (in.read() < 0) {
+                    throw new EOFException();
+                }
+                skipped = 1;
+            }
+            remaining -= skipped;
+        }
+    }
+}
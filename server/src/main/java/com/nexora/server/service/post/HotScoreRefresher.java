@@ -0,0 +1,95 @@
+package com.nexora.server.service.post;
+
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * Keeps the precomputed hotScore of posts up to date so the hot feed is a single indexed read.
+ * The score follows the Hacker News gravity formula:
+ * {@code (1 + likes + 2 * comments + 2 * saves) / (ageHours + 2) ^ GRAVITY}.
+ * Only posts inside the ranking window are rescored; posts that leave it drop to zero.
+ * Posts that have no score at all (older than the field, or without createdAt) are set to zero too:
+ * a missing field sorts below every number and never matches a cursor filter, so the hot feed
+ * could not page through to them.
+ */
+@Component
+public class HotScoreRefresher {
+    private static final Logger LOGGER = Logger.getLogger(HotScoreRefresher.class.getName());
+
+    private static final String POSTS_COLLECTION = "sposts";
+
+    static final double GRAVITY = 1.8;
+    static final double COMMENT_WEIGHT = 2;
+    static final double SAVE_WEIGHT = 2;
+
+    private final MongoTemplate mongoTemplate;
+    private final Duration window;
+
+    public HotScoreRefresher(MongoTemplate mongoTemplate,
+                             @Value("${nexora.feed.hot.window-days:7}") int windowDays) {
+        this.mongoTemplate = mongoTemplate;
+        this.window = Duration.ofDays(windowDays);
+    }
+
+    /**
+     * Computes the hot score of a post. Mirrors the pipeline used by {@link #refresh()}.
+     *
+     * @param likes    number of likes
+     * @param comments number of comments
+     * @param saves    number of saves
+     * @param ageHours age of the post in hours
+     * @return the hot score
+     */
+    public static double score(int likes, int comments, int saves, double ageHours) {
+        double engagement = 1 + likes + COMMENT_WEIGHT * comments + SAVE_WEIGHT * saves;
+        return engagement / Math.pow(Math.max(ageHours, 0) + 2, GRAVITY);
+    }
+
+    /**
+     * Rescores every post created inside the window with a single server-side update,
+     * then zeroes the score of posts that have aged out of it or have none yet.
+     */
+    @Scheduled(fixedDelayString = "${nexora.feed.hot.refresh-ms:60000}", initialDelay = 5000)
+    public void refresh() {
+        try {
+            // Posts store createdAt as a BSON date, so compare against an instant
+            Date cutoff = Date.from(Instant.now().minus(window));
+
+            Document engagement = new Document("$add", List.of(
+                    1,
+                    new Document("$ifNull", List.of("$likeCount", 0)),
+                    new Document("$multiply", List.of(COMMENT_WEIGHT, new Document("$ifNull", List.of("$commentCount", 0)))),
+                    new Document("$multiply", List.of(SAVE_WEIGHT, new Document("$ifNull", List.of("$saveCount", 0))))));
+            Document ageHours = new Document("$max", List.of(0,
+                    new Document("$divide", List.of(new Document("$subtract", List.of("$$NOW", "$createdAt")), 3_600_000))));
+            Document hotScore = new Document("$divide", List.of(engagement,
+                    new Document("$pow", List.of(new Document("$add", List.of(ageHours, 2)), GRAVITY))));
+
+            long rescored = mongoTemplate.getCollection(POSTS_COLLECTION).updateMany(
+                    new Document("createdAt", new Document("$gte", cutoff)),
+                    List.of(new Document("$set", new Document("hotScore", hotScore))))
+                    .getModifiedCount();
+            long expired = mongoTemplate.getCollection(POSTS_COLLECTION).updateMany(
+                    new Document("createdAt", new Document("$lt", cutoff)).append("hotScore", new Document("$gt", 0)),
+                    new Document("$set", new Document("hotScore", 0.0)))
+                    .getModifiedCount();
+            long backfilled = mongoTemplate.getCollection(POSTS_COLLECTION).updateMany(
+                    new Document("hotScore", new Document("$exists", false)),
+                    new Document("$set", new Document("hotScore", 0.0)))
+                    .getModifiedCount();
+            LOGGER.fine("Refreshed hot scores: " + rescored + " rescored, " + expired + " expired, "
+                    + backfilled + " backfilled");
+        } catch (Exception e) {
+            LOGGER.warning("Hot score refresh failed: " + e.getMessage());
+        }
+    }
+}
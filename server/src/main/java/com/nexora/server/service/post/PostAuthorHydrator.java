@@ -0,0 +1,67 @@
+package com.nexora.server.service.post;
+
+import com.nexora.server.model.User;
+import com.nexora.server.model.post.Post;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Fills in author details on a batch of posts with a single user query.
+ */
+@Component
+public class PostAuthorHydrator {
+
+    private static final String UNKNOWN_AUTHOR = "Unknown User";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    /**
+     * Sets the author name and profile photo on every post, loading each distinct author once.
+     *
+     * @param posts the posts to hydrate
+     * @return the number of user lookups saved compared to one lookup per post
+     */
+    public int hydrate(List<Post> posts) {
+        Set<String> authorIds = posts.stream()
+                .map(Post::getUserId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<String, User> authors = loadAuthors(authorIds);
+
+        int postsWithAuthor = 0;
+        for (Post post : posts) {
+            User author = post.getUserId() != null ? authors.get(post.getUserId()) : null;
+            if (post.getUserId() != null) {
+                postsWithAuthor++;
+            }
+            post.setUserName(author != null ? author.getName() : UNKNOWN_AUTHOR);
+            post.setUserProfilePhotoUrl(author != null ? author.getProfilePhotoUrl() : null);
+        }
+        return authorIds.isEmpty() ? 0 : postsWithAuthor - 1;
+    }
+
+    /**
+     * Loads only the name and profile photo of the given users, keyed by ID.
+     */
+    private Map<String, User> loadAuthors(Collection<String> authorIds) {
+        if (authorIds.isEmpty()) {
+            return Map.of();
+        }
+        Query query = new Query(Criteria.where("id").in(authorIds));
+        query.fields().include("name", "profilePhotoUrl");
+        return mongoTemplate.find(query, User.class).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+    }
+}
@@ -0,0 +1,296 @@
+package com.nexora.server.service.post;
+
+import com.nexora.server.model.MediaAsset;
+import com.nexora.server.model.post.Post;
+import com.nexora.server.service.media.MediaRegistry;
+import com.nexora.server.service.media.VideoDurationProbe;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+/**
+ * Uploads the media files of a post.
+ * Each file goes through the media registry, which streams it from a temporary file on disk and
+ * reuses an existing asset with identical content; the files of one post are uploaded concurrently
+ * on a bounded executor.
+ * Videos are probed locally first: a video that is too long or not a readable MP4/WebM file
+ * rejects the post before any file is uploaded.
+ * If any upload fails or breaks a post media rule, the remaining uploads are cancelled
+ * and the assets that were already uploaded are released.
+ */
+@Component
+public class PostMediaUploadPipeline {
+    private static final Logger LOGGER = Logger.getLogger(PostMediaUploadPipeline.class.getName());
+
+    static final int MAX_FILES_PER_POST = 3;
+    static final double MAX_VIDEO_SECONDS = 30;
+
+    private final MediaRegistry mediaRegistry;
+    private final ExecutorService executor;
+    private final Timer uploadTimer;
+    private final DistributionSummary allocatedBytes;
+    private final MeterRegistry meterRegistry;
+    private final Counter preflightSavedBytes;
+
+    public PostMediaUploadPipeline(MediaRegistry mediaRegistry, MeterRegistry meterRegistry,
+                                   @Value("${nexora.media.upload-threads:4}") int uploadThreads) {
+        this.mediaRegistry = mediaRegistry;
+        this.meterRegistry = meterRegistry;
+        AtomicInteger threadNumber = new AtomicInteger();
+        // Bounded queue; when it is full the request thread uploads the file itself
+        this.executor = new ThreadPoolExecutor(uploadThreads, uploadThreads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(uploadThreads * 16),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "post-media-upload-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        this.uploadTimer = Timer.builder("post.media.upload")
+                .description("Time spent uploading the media of one post")
+                .publishPercentiles(0.5, 0.95)
+                .register(meterRegistry);
+        // Total bytes the upload threads allocate for one post, summed per thread; not a peak heap size
+        this.allocatedBytes = DistributionSummary.builder("post.media.upload.thread.allocation")
+                .description("Bytes allocated by the upload threads while uploading the media of one post, not peak heap usage")
+                .baseUnit("bytes")
+                .publishPercentiles(0.95)
+                .register(meterRegistry);
+        this.preflightSavedBytes = Counter.builder("post.media.preflight.saved")
+                .description("Bytes of rejected video posts that were never uploaded")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Checks the post media rules that can be verified before uploading:
+     * at most three files, every file has a content type, and photos and videos are not mixed.
+     *
+     * @param files the files of the post
+     * @return true if the files are videos, false if they are photos
+     * @throws IllegalArgumentException if a rule is broken
+     */
+    public boolean validate(List<MultipartFile> files) {
+        if (files.size() > MAX_FILES_PER_POST) {
+            throw new IllegalArgumentException("A post can contain a maximum of 3 photos or videos.");
+        }
+
+        String firstContentType = files.get(0).getContentType();
+        if (firstContentType == null) {
+            throw new IllegalArgumentException("Content type of the first file is missing.");
+        }
+        boolean isVideo = firstContentType.startsWith("video");
+
+        for (MultipartFile file : files) {
+            String contentType = file.getContentType();
+            if (contentType == null) {
+                throw new IllegalArgumentException("Content type is missing for file: " + file.getOriginalFilename());
+            }
+            boolean currentIsVideo = contentType.startsWith("video");
+            if (currentIsVideo != isVideo) {
+                throw new IllegalArgumentException("A post can contain either photos or videos, but not both.");
+            }
+        }
+        return isVideo;
+    }
+
+    /**
+     * Validates and uploads the files of a post concurrently.
+     *
+     * @param files the files of the post
+     * @return the uploaded media, in the same order as the files
+     * @throws IllegalArgumentException if a post media rule is broken
+     * @throws RuntimeException         if an upload fails
+     */
+    public List<Post.Media> upload(List<MultipartFile> files) {
+        boolean isVideo = validate(files);
+        Double[] durations = isVideo ? preflight(files) : new Double[files.size()];
+        UploadBatch batch = new UploadBatch();
+        Timer.Sample sample = Timer.start();
+
+        ExecutorCompletionService<Integer> completion = new ExecutorCompletionService<>(executor);
+        List<Future<Integer>> futures = new ArrayList<>();
+        for (int i = 0; i < files.size(); i++) {
+            int index = i;
+            futures.add(completion.submit(() -> uploadOne(files.get(index), index, isVideo, durations[index], batch)));
+        }
+
+        try {
+            for (int i = 0; i < files.size(); i++) {
+                completion.take().get();
+            }
+            return batch.mediaInOrder(files.size());
+        } catch (ExecutionException e) {
+            rollback(batch, futures);
+            Throwable cause = e.getCause();
+            if (cause instanceof IllegalArgumentException illegalArgument) {
+                throw illegalArgument;
+            }
+            throw new RuntimeException("Failed to upload media: " + cause.getMessage(), cause);
+        } catch (InterruptedException e) {
+            rollback(batch, futures);
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Media upload was interrupted", e);
+        } finally {
+            sample.stop(uploadTimer);
+            allocatedBytes.record(batch.allocatedBytes.get());
+        }
+    }
+
+    /**
+     * Reads the duration of every video from its container headers and rejects the post if one
+     * is too long or cannot be parsed, before anything is uploaded.
+     *
+     * @return the probed durations, null where the container does not record one
+     */
+    private Double[] preflight(List<MultipartFile> files) {
+        Double[] durations = new Double[files.size()];
+        for (int i = 0; i < files.size(); i++) {
+            MultipartFile file = files.get(i);
+            try (InputStream in = file.getInputStream()) {
+                durations[i] = VideoDurationProbe.durationSeconds(in);
+            } catch (IllegalArgumentException e) {
+                reject(files, "malformed");
+                throw new IllegalArgumentException("Unsupported or malformed video: " + file.getOriginalFilename()
+                        + " (" + e.getMessage() + "). Videos must be MP4 or WebM.");
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to read video " + file.getOriginalFilename(), e);
+            }
+            if (durations[i] != null && durations[i] > MAX_VIDEO_SECONDS) {
+                reject(files, "too_long");
+                throw new IllegalArgumentException("Videos must be 30 seconds or less.");
+            }
+        }
+        return durations;
+    }
+
+    private void reject(List<MultipartFile> files, String reason) {
+        meterRegistry.counter("post.media.preflight.rejected", "reason", reason).increment();
+        preflightSavedBytes.increment(files.stream().mapToLong(MultipartFile::getSize).sum());
+    }
+
+    /**
+     * Stores one file through the media registry and checks the video length. The length check
+     * here covers videos whose container did not record a duration.
+     */
+    private Integer uploadOne(MultipartFile file, int index, boolean isVideo, Double probedDuration,
+                              UploadBatch batch) throws Exception {
+        long allocatedBefore = currentThreadAllocatedBytes();
+        try {
+            MediaAsset stored = mediaRegistry.upload(file, Map.of("resource_type", "auto"));
+
+            UploadedAsset asset = new UploadedAsset(index, toMedia(file, stored, isVideo),
+                    stored.getPublicId(), stored.getResourceType());
+            if (!batch.register(asset)) {
+                // The batch already failed; nobody else will clean this asset up
+                destroy(asset);
+                return index;
+            }
+
+            if (isVideo) {
+                // Stores that do not analyse videos (the local one) report no duration
+                Double duration = stored.getDuration() != null ? stored.getDuration() : probedDuration;
+                if (duration == null) {
+                    throw new IllegalArgumentException("Unable to determine video duration.");
+                }
+                if (duration > MAX_VIDEO_SECONDS) {
+                    throw new IllegalArgumentException("Videos must be 30 seconds or less.");
+                }
+            }
+            return index;
+        } finally {
+            batch.allocatedBytes.addAndGet(currentThreadAllocatedBytes() - allocatedBefore);
+        }
+    }
+
+    private Post.Media toMedia(MultipartFile file, MediaAsset stored, boolean isVideo) {
+        Post.Media media = new Post.Media();
+        media.setFileName(file.getOriginalFilename());
+        media.setFileUrl(stored.getUrl());
+        media.setFileType(isVideo ? "video/mp4" : file.getContentType());
+        return media;
+    }
+
+    /**
+     * Cancels the uploads still running and releases the assets already uploaded.
+     */
+    private void rollback(UploadBatch batch, List<Future<Integer>> futures) {
+        futures.forEach(future -> future.cancel(true));
+        for (UploadedAsset asset : batch.abort()) {
+            destroy(asset);
+        }
+    }
+
+    private void destroy(UploadedAsset asset) {
+        try {
+            mediaRegistry.release(asset.media().getFileUrl(), asset.publicId(), asset.resourceType());
+        } catch (Exception e) {
+            LOGGER.warning("Failed to roll back uploaded asset " + asset.publicId() + ": " + e.getMessage());
+        }
+    }
+
+    private long currentThreadAllocatedBytes() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threadMXBean) {
+            return threadMXBean.getCurrentThreadAllocatedBytes();
+        }
+        return 0;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    private record UploadedAsset(int index, Post.Media media, String publicId, String resourceType) {
+    }
+
+    /**
+     * Assets uploaded for one post. Once aborted, late uploads are rejected so their tasks destroy them.
+     */
+    private static final class UploadBatch {
+        private final List<UploadedAsset> assets = new ArrayList<>();
+        private final AtomicLong allocatedBytes = new AtomicLong();
+        private boolean aborted;
+
+        synchronized boolean register(UploadedAsset asset) {
+            if (aborted) {
+                return false;
+            }
+            assets.add(asset);
+            return true;
+        }
+
+        synchronized List<UploadedAsset> abort() {
+            aborted = true;
+            return new ArrayList<>(assets);
+        }
+
+        synchronized List<Post.Media> mediaInOrder(int size) {
+            Post.Media[] ordered = new Post.Media[size];
+            assets.forEach(asset -> ordered[asset.index()] = asset.media());
+            return List.of(ordered);
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package com.nexora.server.service.post;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.ReplaceOneModel;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.model.WriteModel;
+import com.nexora.server.model.post.SavedPost;
+import com.nexora.server.repository.post.PostRepositoryImpl;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * One-off data migrations for the posts collection, run at startup.
+ * Each step only touches documents that have not been migrated yet, so running it again is a no-op.
+ * The steps run once all beans are created but before the web server starts accepting requests,
+ * so no request sees a half-migrated document, and each runs on its own so one failure does not
+ * skip the others.
+ */
+@Component
+public class PostMigrations implements SmartInitializingSingleton {
+    private static final Logger LOGGER = Logger.getLogger(PostMigrations.class.getName());
+
+    private static final String POSTS_COLLECTION = "sposts";
+    private static final String COMMENTS_COLLECTION = "post_comments";
+    private static final String SAVED_POSTS_COLLECTION = "saved_posts";
+    private static final String USERS_COLLECTION = "users";
+
+    private final MongoTemplate mongoTemplate;
+
+    public PostMigrations(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        runStep("backfillLikeCount", this::backfillLikeCount);
+        runStep("backfillVersion", this::backfillVersion);
+        runStep("moveEmbeddedComments", this::moveEmbeddedComments);
+        runStep("moveSavedByIntoSavedPosts", this::moveSavedByIntoSavedPosts);
+        runStep("moveUserBookmarksIntoSavedPosts", this::moveUserBookmarksIntoSavedPosts);
+    }
+
+    private void runStep(String name, Runnable step) {
+        try {
+            step.run();
+        } catch (Exception e) {
+            LOGGER.severe("Post migration " + name + " failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Sets likeCount to the size of the likes array on posts created before the field existed.
+     */
+    private void backfillLikeCount() {
+        long updated = mongoTemplate.getCollection(POSTS_COLLECTION).updateMany(
+                new Document("likeCount", new Document("$exists", false)),
+                List.of(new Document("$set", new Document("likeCount",
+                        new Document("$size", new Document("$ifNull", List.of("$likes", List.of())))))))
+                .getModifiedCount();
+        if (updated > 0) {
+            LOGGER.info("Backfilled likeCount on " + updated + " posts");
+        }
+    }
+
+    /**
+     * Starts posts created before optimistic locking at version 0, so Spring Data treats them
+     * as existing documents rather than inserting them again on save.
+     */
+    private void backfillVersion() {
+        long updated = mongoTemplate.getCollection(POSTS_COLLECTION).updateMany(
+                new Document("version", new Document("$exists", false)),
+                new Document("$set", new Document("version", 0L)))
+                .getModifiedCount();
+        if (updated > 0) {
+            LOGGER.info("Backfilled version on " + updated + " posts");
+        }
+    }
+
+    /**
+     * Moves comments embedded in posts into the post_comments collection,
+     * then replaces the embedded array with commentCount and the latest comments preview.
+     * Comments keep their IDs, so a partially migrated post is safely migrated again.
+     */
+    private void moveEmbeddedComments() {
+        MongoCollection<Document> posts = mongoTemplate.getCollection(POSTS_COLLECTION);
+        MongoCollection<Document> comments = mongoTemplate.getCollection(COMMENTS_COLLECTION);
+        int migrated = 0;
+
+        for (Document post : posts.find(new Document("comments", new Document("$exists", true)))
+                .projection(new Document("comments", 1))) {
+            String postId = post.getObjectId("_id").toHexString();
+            List<Document> embedded = post.getList("comments", Document.class, List.of());
+
+            List<WriteModel<Document>> writes = new ArrayList<>();
+            for (Document comment : embedded) {
+                // Spring stores the id property of embedded objects as _id
+                String commentId = String.valueOf(comment.get("_id") != null ? comment.get("_id") : comment.get("id"));
+                Document migratedComment = new Document("_id", commentId)
+                        .append("postId", postId)
+                        .append("userId", comment.getString("userId"))
+                        .append("name", comment.getString("name"))
+                        .append("text", comment.getString("text"))
+                        .append("createdAt", comment.getDate("createdAt"));
+                writes.add(new ReplaceOneModel<>(new Document("_id", commentId), migratedComment,
+                        new ReplaceOptions().upsert(true)));
+            }
+            if (!writes.isEmpty()) {
+                comments.bulkWrite(writes);
+            }
+
+            List<Document> preview = embedded.stream()
+                    .sorted(Comparator.comparing((Document c) -> c.getDate("createdAt"),
+                            Comparator.nullsLast(Comparator.reverseOrder())))
+                    .limit(PostRepositoryImpl.COMMENT_PREVIEW_SIZE)
+                    .toList();
+            posts.updateOne(new Document("_id", post.getObjectId("_id")),
+                    new Document("$set", new Document("commentCount", embedded.size())
+                            .append("recentComments", preview))
+                            .append("$unset", new Document("comments", "")));
+            migrated++;
+        }
+        if (migrated > 0) {
+            LOGGER.info("Moved embedded comments out of " + migrated + " posts");
+        }
+    }
+
+    /**
+     * Copies the savedBy array of posts created before saved_posts existed into that collection
+     * and sets saveCount to the size of the array.
+     */
+    private void moveSavedByIntoSavedPosts() {
+        MongoCollection<Document> posts = mongoTemplate.getCollection(POSTS_COLLECTION);
+        MongoCollection<Document> savedPosts = mongoTemplate.getCollection(SAVED_POSTS_COLLECTION);
+        Date now = new Date();
+        int migrated = 0;
+
+        for (Document post : posts.find(new Document("saveCount", new Document("$exists", false)))
+                .projection(new Document("savedBy", 1))) {
+            ObjectId postId = post.getObjectId("_id");
+            List<String> savedBy = post.getList("savedBy", String.class, List.of());
+
+            List<WriteModel<Document>> writes = new ArrayList<>();
+            for (String userId : savedBy) {
+                writes.add(savedPostUpsert(userId, postId.toHexString(), now));
+            }
+            if (!writes.isEmpty()) {
+                savedPosts.bulkWrite(writes);
+            }
+            posts.updateOne(new Document("_id", postId),
+                    new Document("$set", new Document("saveCount", savedBy.size())));
+            migrated++;
+        }
+        if (migrated > 0) {
+            LOGGER.info("Moved savedBy into saved_posts for " + migrated + " posts");
+        }
+    }
+
+    /**
+     * Moves the bookmarkedPosts array of users into saved_posts, which now backs it.
+     * A bookmark that was not already a save is also added to the post's savedBy and saveCount.
+     */
+    private void moveUserBookmarksIntoSavedPosts() {
+        MongoCollection<Document> users = mongoTemplate.getCollection(USERS_COLLECTION);
+        MongoCollection<Document> posts = mongoTemplate.getCollection(POSTS_COLLECTION);
+        MongoCollection<Document> savedPosts = mongoTemplate.getCollection(SAVED_POSTS_COLLECTION);
+        Date now = new Date();
+        int migrated = 0;
+
+        // Users saved since the move carry an empty array, which has nothing to migrate
+        for (Document user : users.find(new Document("bookmarkedPosts.0", new Document("$exists", true)))
+                .projection(new Document("bookmarkedPosts", 1))) {
+            String userId = user.get("_id").toString();
+            for (String postId : user.getList("bookmarkedPosts", String.class, List.of())) {
+                if (!ObjectId.isValid(postId)) {
+                    continue;
+                }
+                UpdateOneModel<Document> upsert = savedPostUpsert(userId, postId, now);
+                boolean inserted = savedPosts.updateOne(upsert.getFilter(), upsert.getUpdate(), upsert.getOptions())
+                        .getUpsertedId() != null;
+                if (inserted) {
+                    posts.updateOne(new Document("_id", new ObjectId(postId)),
+                            new Document("$addToSet", new Document("savedBy", userId))
+                                    .append("$inc", new Document("saveCount", 1)));
+                }
+            }
+            users.updateOne(new Document("_id", user.get("_id")),
+                    new Document("$unset", new Document("bookmarkedPosts", "")));
+            migrated++;
+        }
+        if (migrated > 0) {
+            LOGGER.info("Moved bookmarkedPosts into saved_posts for " + migrated + " users");
+        }
+    }
+
+    private UpdateOneModel<Document> savedPostUpsert(String userId, String postId, Date savedAt) {
+        return new UpdateOneModel<>(new Document("_id", SavedPost.idOf(userId, postId)),
+                new Document("$setOnInsert", new Document("userId", userId)
+                        .append("postId", postId)
+                        .append("savedAt", savedAt)),
+                new UpdateOptions().upsert(true));
+    }
+}
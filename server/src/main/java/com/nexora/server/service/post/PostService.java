@@ -1,25 +1,53 @@
 package com.nexora.server.service.post;
 
+import com.nexora.server.model.CursorPage;
+import com.nexora.server.model.PageCursor;
 import com.nexora.server.model.User;
+import com.nexora.server.model.post.LikeResult;
 import com.nexora.server.model.post.Notification;
 import com.nexora.server.model.post.Post;
+import com.nexora.server.model.post.PostComment;
+import com.nexora.server.model.post.PostStats;
+import com.nexora.server.model.post.SavedPost;
 import com.nexora.server.repository.post.NotificationRepository;
+import com.nexora.server.repository.post.PostCommentRepository;
 import com.nexora.server.repository.post.PostRepository;
+import com.nexora.server.repository.post.SavedPostRepository;
 import com.nexora.server.service.UserService;
 import com.nexora.server.repository.UserRepository;
-import com.cloudinary.Cloudinary;
+import com.nexora.server.service.media.MediaRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class PostService {
+    private static final Logger LOGGER = Logger.getLogger(PostService.class.getName());
+    private static final int MAX_COMMENT_PAGE_SIZE = 100;
+    private static final int MAX_SAVED_PAGE_SIZE = 100;
+    // A comment added or removed while the preview is rebuilt makes the write retry
+    private static final int MAX_PREVIEW_ATTEMPTS = 5;
 
     @Autowired
     private PostRepository postRepository;
@@ -27,15 +55,36 @@ public class PostService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private PostCommentRepository postCommentRepository;
+
+    @Autowired
+    private SavedPostRepository savedPostRepository;
+
     @Autowired
     private NotificationRepository notificationRepository;
 
     @Autowired
-    private Cloudinary cloudinary;
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private MediaRegistry mediaRegistry;
 
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private PostAuthorHydrator authorHydrator;
+
+    @Autowired
+    private TimelineService timelineService;
+
+    @Autowired
+    private PostMediaUploadPipeline mediaUploadPipeline;
+
+    @Autowired
+    private PostStatsBuffer postStatsBuffer;
+
     public Post createPost(String userId, String description, List<MultipartFile> files) throws Exception {
         if (userId == null) {
             throw new IllegalArgumentException("User ID cannot be null");
@@ -45,68 +94,55 @@ public class PostService {
         post.setUserId(userId);
         post.setDescription(description);
         post.setCreatedAt(LocalDateTime.now());
+        post.setHotScore(HotScoreRefresher.score(0, 0, 0, 0));
 
         com.nexora.server.model.User user = userRepository.findById(userId)
                 .orElseThrow(() -> new Exception("User not found"));
         post.setUserName(user.getName());
 
         if (files != null && !files.isEmpty()) {
-            if (files.size() > 3) {
-                throw new IllegalArgumentException("A post can contain a maximum of 3 photos or videos.");
-            }
-
-            String firstContentType = files.get(0).getContentType();
-            if (firstContentType == null) {
-                throw new IllegalArgumentException("Content type of the first file is missing.");
-            }
-            boolean isVideo = firstContentType.startsWith("video");
-            
-            for (MultipartFile file : files) {
-                String contentType = file.getContentType();
-                if (contentType == null) {
-                    throw new IllegalArgumentException("Content type is missing for file: " + file.getOriginalFilename());
-                }
-                boolean currentIsVideo = contentType.startsWith("video");
-                if (currentIsVideo != isVideo) {
-                    throw new IllegalArgumentException("A post can contain either photos or videos, but not both.");
-                }
-            }
-
-            List<Post.Media> mediaList = new ArrayList<>();
-            for (MultipartFile file : files) {
-                try {
-                    @SuppressWarnings("unchecked")
-                    Map<String, Object> uploadResult = cloudinary.uploader().upload(file.getBytes(), Map.of("resource_type", "auto"));
-                    if (isVideo) {
-                        Object durationObj = uploadResult.get("duration");
-                        if (durationObj == null) {
-                            throw new IllegalArgumentException("Unable to determine video duration.");
-                        }
-                        double duration = Double.parseDouble(durationObj.toString());
-                        if (duration > 30) {
-                            throw new IllegalArgumentException("Videos must be 30 seconds or less.");
-                        }
-                    }
-
-                    String fileUrl = uploadResult.get("url").toString();
-                    String fileType = isVideo ? "video/mp4" : file.getContentType();
-
-                    Post.Media media = new Post.Media();
-                    media.setFileName(file.getOriginalFilename());
-                    media.setFileUrl(fileUrl);
-                    media.setFileType(fileType);
-                    mediaList.add(media);
-                } catch (Exception e) {
-                    throw new RuntimeException("Failed to upload media to Cloudinary: " + e.getMessage(), e);
-                }
-            }
-            post.setMedia(mediaList);
+            post.setMedia(mediaUploadPipeline.upload(files));
         }
 
         Post savedPost = postRepository.save(post);
+        try {
+            timelineService.fanOut(savedPost, user);
+        } catch (Exception e) {
+            // The post is already saved; followers still see it in the global feed
+            LOGGER.warning("Failed to fan out post " + savedPost.getId() + " to timelines: " + e.getMessage());
+        }
         return savedPost;
     }
 
+    public CursorPage<Post> getHomeFeed(String userId, String cursor, int limit) {
+        CursorPage<Post> page = timelineService.getHomeFeed(userId, cursor, limit);
+        postStatsBuffer.recordImpressions(page.items().stream().map(Post::getId).toList());
+        return page;
+    }
+
+    /**
+     * Counts a view of a post. The count is buffered and written in batches.
+     */
+    public void recordView(String postId) {
+        postStatsBuffer.recordView(postId);
+    }
+
+    /**
+     * Returns the engagement numbers of a post, adding the buffered views and impressions
+     * to the persisted counts.
+     */
+    public PostStats getPostStats(String postId) {
+        Query query = new Query(Criteria.where("id").is(postId));
+        query.fields().include("viewCount", "impressionCount", "likeCount", "commentCount", "saveCount");
+        Post post = mongoTemplate.findOne(query, Post.class);
+        if (post == null) {
+            throw new IllegalArgumentException("Post not found");
+        }
+        long[] pending = postStatsBuffer.pending(postId);
+        return new PostStats(postId, post.getViewCount() + pending[0], post.getImpressionCount() + pending[1],
+                post.getLikeCount(), post.getCommentCount(), post.getSaveCount());
+    }
+
     public Post getPost(String postId) {
         return postRepository.findById(postId)
                 .orElseThrow(() -> new IllegalArgumentException("Post not found"));
@@ -114,148 +150,195 @@ public class PostService {
 
     public List<Post> getAllPosts() {
         List<Post> posts = postRepository.findAll();
-        for (Post post : posts) {
-            if (post.getUserId() != null) {
-                com.nexora.server.model.User user = userRepository.findById(post.getUserId())
-                        .orElse(null);
-                post.setUserName(user != null ? user.getName() : "Unknown User");
-            } else {
-                post.setUserName("Unknown User");
+        int savedLookups = authorHydrator.hydrate(posts);
+        LOGGER.fine("Hydrated authors for " + posts.size() + " posts, saved " + savedLookups + " user lookups");
+        return posts;
+    }
+
+    /**
+     * Walks every post, newest first, over a Mongo cursor that fetches {@code batchSize} documents
+     * per round trip. Each batch is hydrated with its authors and handed to the consumer before the
+     * next one is read, so memory use depends on the batch size rather than the collection size.
+     *
+     * @param batchSize number of posts per batch
+     * @param consumer  receives each hydrated batch
+     */
+    public void forEachPostBatch(int batchSize, Consumer<List<Post>> consumer) {
+        Query query = new Query()
+                .with(Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id")))
+                .cursorBatchSize(batchSize);
+        try (Stream<Post> posts = mongoTemplate.stream(query, Post.class)) {
+            List<Post> batch = new ArrayList<>(batchSize);
+            Iterator<Post> iterator = posts.iterator();
+            while (iterator.hasNext()) {
+                batch.add(iterator.next());
+                if (batch.size() == batchSize || !iterator.hasNext()) {
+                    authorHydrator.hydrate(batch);
+                    consumer.accept(batch);
+                    batch = new ArrayList<>(batchSize);
+                }
             }
         }
-        return posts;
+    }
+
+    /**
+     * Reads only the version of a post, so conditional requests can be answered without loading it.
+     *
+     * @throws IllegalArgumentException if the post does not exist
+     */
+    public long getPostVersion(String postId) {
+        Query query = new Query(Criteria.where("id").is(postId));
+        query.fields().include("version");
+        Post post = mongoTemplate.findOne(query, Post.class);
+        if (post == null) {
+            throw new IllegalArgumentException("Post not found");
+        }
+        return post.getVersion() != null ? post.getVersion() : 0;
     }
 
     public Post updatePost(String postId, String userId, String description, List<MultipartFile> files) throws Exception {
+        return updatePost(postId, userId, description, files, null);
+    }
+
+    /**
+     * Updates a post's description and media.
+     *
+     * @param expectedVersion the version the caller last saw (from If-Match), or null to skip the check
+     * @throws OptimisticLockingFailureException if the post changed since the expected version
+     */
+    public Post updatePost(String postId, String userId, String description, List<MultipartFile> files,
+                           Long expectedVersion) throws Exception {
         Post post = postRepository.findById(postId)
                 .orElseThrow(() -> new IllegalArgumentException("Post not found"));
 
         if (!post.getUserId().equals(userId)) {
             throw new SecurityException("You are not authorized to edit this post");
         }
+        // Fail before uploading anything if the caller's copy is already stale
+        checkVersion(post, expectedVersion);
 
+        // Only the edited fields are written, so concurrent likes and comments are not overwritten
+        Update update = new Update();
         if (description != null && !description.trim().isEmpty()) {
-            post.setDescription(description);
+            update.set("description", description);
         }
 
+        List<Post.Media> oldMedia = List.of();
+        List<Post.Media> newMedia = List.of();
         if (files != null && !files.isEmpty()) {
-            if (files.size() > 3) {
-                throw new IllegalArgumentException("A post can contain a maximum of 3 photos or videos.");
-            }
-
-            String firstContentType = files.get(0).getContentType();
-            if (firstContentType == null) {
-                throw new IllegalArgumentException("Content type of the first file is missing.");
-            }
-            boolean isVideo = firstContentType.startsWith("video");
-
-            for (MultipartFile file : files) {
-                String contentType = file.getContentType();
-                if (contentType == null) {
-                    throw new IllegalArgumentException("Content type is missing for file: " + file.getOriginalFilename());
-                }
-                boolean currentIsVideo = contentType.startsWith("video");
-                if (currentIsVideo != isVideo) {
-                    throw new IllegalArgumentException("A post can contain either photos or videos, but not both.");
-                }
-            }
-
-            List<Post.Media> oldMedia = post.getMedia();
-            for (Post.Media media : oldMedia) {
-                String publicId = extractPublicIdFromUrl(media.getFileUrl());
-                cloudinary.uploader().destroy(publicId, Map.of("resource_type", isVideo ? "video" : "image"));
-            }
-
-            List<Post.Media> mediaList = new ArrayList<>();
-            for (MultipartFile file : files) {
-                @SuppressWarnings("unchecked")
-                Map<String, Object> uploadResult = cloudinary.uploader().upload(file.getBytes(), Map.of("resource_type", "auto"));
-                if (isVideo) {
-                    Object durationObj = uploadResult.get("duration");
-                    if (durationObj == null) {
-                        throw new IllegalArgumentException("Unable to determine video duration.");
-                    }
-                    double duration = Double.parseDouble(durationObj.toString());
-                    if (duration > 30) {
-                        throw new IllegalArgumentException("Videos must be 30 seconds or less.");
-                    }
-                }
-
-                String fileUrl = uploadResult.get("url").toString();
-                String fileType = isVideo ? "video/mp4" : file.getContentType();
+            // Upload the new media first so a failed upload leaves the post unchanged
+            newMedia = mediaUploadPipeline.upload(files);
+            update.set("media", newMedia);
+            oldMedia = post.getMedia();
+        }
 
-                Post.Media media = new Post.Media();
-                media.setFileName(file.getOriginalFilename());
-                media.setFileUrl(fileUrl);
-                media.setFileType(fileType);
-                mediaList.add(media);
+        if (update.getUpdateObject().isEmpty()) {
+            return post;
+        }
+        update.inc("version", 1);
+        Query query = new Query(Criteria.where("id").is(postId));
+        if (expectedVersion != null) {
+            query.addCriteria(Criteria.where("version").is(expectedVersion));
+        }
+        Post updatedPost = mongoTemplate.findAndModify(query, update,
+                FindAndModifyOptions.options().returnNew(true), Post.class);
+        if (updatedPost == null) {
+            // Changed or deleted while the media was uploading
+            scheduleMediaDeletion(newMedia);
+            if (expectedVersion != null && postRepository.existsById(postId)) {
+                throw new OptimisticLockingFailureException("Post was modified by another request");
             }
-            post.setMedia(mediaList);
+            throw new IllegalArgumentException("Post not found");
         }
 
-        return postRepository.save(post);
+        scheduleMediaDeletion(oldMedia);
+
+        return updatedPost;
     }
 
     public void deletePost(String postId, String userId) {
+        deletePost(postId, userId, null);
+    }
+
+    /**
+     * Deletes a post, its comments and saved entries, and queues its media for deletion.
+     *
+     * @param expectedVersion the version the caller last saw (from If-Match), or null to skip the check
+     * @throws OptimisticLockingFailureException if the post changed since the expected version
+     */
+    public void deletePost(String postId, String userId, Long expectedVersion) {
         Post post = postRepository.findById(postId)
                 .orElseThrow(() -> new IllegalArgumentException("Post not found"));
 
         if (!post.getUserId().equals(userId)) {
             throw new SecurityException("You are not authorized to delete this post");
         }
+        checkVersion(post, expectedVersion);
 
-        List<Post.Media> mediaList = post.getMedia();
-        for (Post.Media media : mediaList) {
-            String publicId = extractPublicIdFromUrl(media.getFileUrl());
-            try {
-                cloudinary.uploader().destroy(publicId, Map.of("resource_type", media.getFileType().startsWith("video") ? "video" : "image"));
-            } catch (Exception e) {
-                System.err.println("Error deleting media from Cloudinary: " + e.getMessage());
+        Query query = new Query(Criteria.where("id").is(postId));
+        if (expectedVersion != null) {
+            query.addCriteria(Criteria.where("version").is(expectedVersion));
+        }
+        if (mongoTemplate.remove(query, Post.class).getDeletedCount() == 0) {
+            // Deleted by another request, or changed since the expected version
+            if (expectedVersion != null && postRepository.existsById(postId)) {
+                throw new OptimisticLockingFailureException("Post was modified by another request");
             }
+            throw new IllegalArgumentException("Post not found");
         }
+        postCommentRepository.deleteByPostId(postId);
+        savedPostRepository.deleteByPostId(postId);
+        scheduleMediaDeletion(post.getMedia());
+    }
 
-        postRepository.delete(post);
+    private void checkVersion(Post post, Long expectedVersion) {
+        long currentVersion = post.getVersion() != null ? post.getVersion() : 0;
+        if (expectedVersion != null && expectedVersion != currentVersion) {
+            throw new OptimisticLockingFailureException("Post was modified by another request");
+        }
     }
 
-    public Post likePost(String postId, String userId) {
-        Post post = postRepository.findById(postId)
-                .orElseThrow(() -> new IllegalArgumentException("Post not found"));
+    public LikeResult likePost(String postId, String userId) {
+        LikeResult result = postRepository.toggleLike(postId, userId);
+        if (result == null) {
+            throw new IllegalArgumentException("Post not found");
+        }
 
-        boolean isLiked = post.getLikes().contains(userId);
-        if (isLiked) {
-            post.getLikes().remove(userId);
-        } else {
-            post.getLikes().add(userId);
+        if (result.liked() && !userId.equals(result.authorId())) {
             User user = userRepository.findById(userId)
                     .orElseThrow(() -> new IllegalArgumentException("User not found"));
-            if (!userId.equals(post.getUserId())) {
-                Notification notification = new Notification();
-                notification.setId(UUID.randomUUID().toString());
-                notification.setUserId(post.getUserId());
-                notification.setType("like");
-                notification.setMessage(user.getName() + " liked your post");
-                notification.setCreatedAt(LocalDateTime.now());
-                notification.setRead(false);
-                notificationRepository.save(notification);
-            }
+            Notification notification = new Notification();
+            notification.setId(UUID.randomUUID().toString());
+            notification.setUserId(result.authorId());
+            notification.setType("like");
+            notification.setMessage(user.getName() + " liked your post");
+            notification.setCreatedAt(LocalDateTime.now());
+            notification.setRead(false);
+            notificationRepository.save(notification);
         }
 
-        return postRepository.save(post);
+        return result;
     }
 
     public Post addComment(String postId, String userId, String commentText) {
-        Post post = postRepository.findById(postId)
-                .orElseThrow(() -> new IllegalArgumentException("Post not found"));
+        Post post = getPostOwner(postId);
 
         User user = userService.getUserById(userId);
 
-        Post.Comment comment = new Post.Comment();
+        PostComment comment = new PostComment();
         comment.setId(UUID.randomUUID().toString());
+        comment.setPostId(postId);
         comment.setUserId(userId);
         comment.setName(user.getName());
         comment.setText(commentText);
         comment.setCreatedAt(LocalDateTime.now());
-        post.getComments().add(comment);
+        postCommentRepository.save(comment);
+
+        Post updatedPost = postRepository.addCommentToPreview(postId, toPreview(comment));
+        if (updatedPost == null) {
+            postCommentRepository.deleteById(comment.getId());
+            throw new IllegalArgumentException("Post not found");
+        }
 
         if (!userId.equals(post.getUserId())) {
             Notification notification = new Notification();
@@ -268,64 +351,220 @@ public class PostService {
             notificationRepository.save(notification);
         }
 
-        return postRepository.save(post);
+        return updatedPost;
     }
 
     public Post updateComment(String postId, String commentId, String userId, String updatedComment) {
-        Post post = postRepository.findById(postId)
-                .orElseThrow(() -> new IllegalArgumentException("Post not found"));
-
-        Post.Comment comment = post.getComments().stream()
-                .filter(c -> c.getId().equals(commentId))
-                .findFirst()
-                .orElseThrow(() -> new IllegalArgumentException("Comment not found"));
+        PostComment comment = getComment(postId, commentId);
 
         if (!comment.getUserId().equals(userId)) {
             throw new SecurityException("Unauthorized to edit this comment");
         }
 
         comment.setText(updatedComment);
-        return postRepository.save(post);
+        postCommentRepository.save(comment);
+        postRepository.updateCommentInPreview(postId, commentId, updatedComment);
+        return getPost(postId);
     }
 
     public Post deleteComment(String postId, String commentId, String userId) {
-        Post post = postRepository.findById(postId)
-                .orElseThrow(() -> new IllegalArgumentException("Post not found"));
-
-        Post.Comment comment = post.getComments().stream()
-                .filter(c -> c.getId().equals(commentId))
-                .findFirst()
-                .orElseThrow(() -> new IllegalArgumentException("Comment not found"));
+        Post post = getPostOwner(postId);
+        PostComment comment = getComment(postId, commentId);
 
         if (!comment.getUserId().equals(userId) && !post.getUserId().equals(userId)) {
             throw new SecurityException("Unauthorized to delete this comment");
         }
 
-        post.getComments().remove(comment);
-        return postRepository.save(post);
+        // Only the request that actually deletes the comment decrements the count
+        long deleted = mongoTemplate.remove(new Query(Criteria.where("id").is(commentId).and("postId").is(postId)),
+                PostComment.class).getDeletedCount();
+        if (deleted != 1) {
+            throw new IllegalArgumentException("Comment not found");
+        }
+        Post updatedPost = postRepository.decrementCommentCount(postId);
+        if (updatedPost == null) {
+            throw new IllegalArgumentException("Post not found");
+        }
+        return refreshCommentPreview(updatedPost);
     }
 
-    public Post savePost(String postId, String userId) {
-        Post post = postRepository.findById(postId)
-                .orElseThrow(() -> new IllegalArgumentException("Post not found"));
+    /**
+     * Rebuilds a post's recent comments preview from the comments collection. The preview is only
+     * written if no comment was added or removed since it was read, so a concurrent change can't be
+     * overwritten with a stale preview; after a few conflicts the latest read is written anyway.
+     */
+    private Post refreshCommentPreview(Post post) {
+        Long version = post.getVersion();
+        for (int attempt = 0; attempt < MAX_PREVIEW_ATTEMPTS; attempt++) {
+            Post updatedPost = postRepository.replaceCommentPreview(post.getId(), version, latestComments(post.getId()));
+            if (updatedPost != null) {
+                return updatedPost;
+            }
+            version = getPostVersion(post.getId());
+        }
+        Post updatedPost = postRepository.replaceCommentPreview(post.getId(), null, latestComments(post.getId()));
+        if (updatedPost == null) {
+            throw new IllegalArgumentException("Post not found");
+        }
+        return updatedPost;
+    }
+
+    private List<Post.Comment> latestComments(String postId) {
+        return postCommentRepository.findTop3ByPostIdOrderByCreatedAtDesc(postId)
+                .stream()
+                .map(this::toPreview)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Returns a page of a post's comments, newest first.
+     *
+     * @param postId the ID of the post
+     * @param cursor opaque cursor from a previous page, or null/blank for the first page
+     * @param limit  maximum number of comments to return
+     * @return the comments and the cursor of the next page
+     */
+    public CursorPage<PostComment> getComments(String postId, String cursor, int limit) {
+        int pageSize = Math.min(Math.max(limit, 1), MAX_COMMENT_PAGE_SIZE);
+        Query query = new Query(Criteria.where("postId").is(postId));
+        if (cursor != null && !cursor.isBlank()) {
+            PageCursor after = PageCursor.decode(cursor);
+            query.addCriteria(after.afterDescending("createdAt", after.sortKeyAsDateTime()));
+        }
+        query.with(Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"))).limit(pageSize + 1);
+
+        List<PostComment> comments = mongoTemplate.find(query, PostComment.class);
+        return CursorPage.of(comments, pageSize, comment -> PageCursor.of(comment.getCreatedAt(), comment.getId()));
+    }
 
-        if (!post.getSavedBy().contains(userId)) {
-            post.getSavedBy().add(userId);
+    /**
+     * Saves a post for a user. The saved_posts entry is the source of truth; inserting it is
+     * the atomic step, and only the request that inserts it bumps the post's saveCount.
+     */
+    public Post savePost(String postId, String userId) {
+        getPostOwner(postId);
+
+        SavedPost savedPost = new SavedPost();
+        savedPost.setId(SavedPost.idOf(userId, postId));
+        savedPost.setUserId(userId);
+        savedPost.setPostId(postId);
+        savedPost.setSavedAt(LocalDateTime.now());
+        try {
+            savedPostRepository.insert(savedPost);
+        } catch (DuplicateKeyException e) {
+            // Already saved
+            return postRepository.findById(postId)
+                    .orElseThrow(() -> new IllegalArgumentException("Post not found"));
         }
 
-        return postRepository.save(post);
+        return updateSaveCount(postId, new Update().addToSet("savedBy", userId).inc("saveCount", 1));
     }
 
+    /**
+     * Removes a post from a user's saved posts. Only the request that deletes the
+     * saved_posts entry decrements the post's saveCount.
+     */
     public Post unsavePost(String postId, String userId) {
-        Post post = postRepository.findById(postId)
-                .orElseThrow(() -> new IllegalArgumentException("Post not found"));
+        getPostOwner(postId);
+
+        Query savedQuery = new Query(Criteria.where("id").is(SavedPost.idOf(userId, postId)));
+        if (mongoTemplate.remove(savedQuery, SavedPost.class).getDeletedCount() == 0) {
+            // Was not saved
+            return postRepository.findById(postId)
+                    .orElseThrow(() -> new IllegalArgumentException("Post not found"));
+        }
+
+        return updateSaveCount(postId, new Update().pull("savedBy", userId).inc("saveCount", -1));
+    }
+
+    /**
+     * Returns a page of the user's saved posts, most recently saved first.
+     * Reads the (userId, savedAt) index of saved_posts, then loads the posts in one query.
+     * Posts deleted since they were saved are left out of the page.
+     *
+     * @param userId the user whose saved posts to return
+     * @param cursor opaque cursor from a previous page, or null/blank for the first page
+     * @param limit  maximum number of saved entries to read
+     * @return the posts and the cursor of the next page
+     */
+    public CursorPage<Post> getSavedPosts(String userId, String cursor, int limit) {
+        int pageSize = Math.min(Math.max(limit, 1), MAX_SAVED_PAGE_SIZE);
+        Query query = new Query(Criteria.where("userId").is(userId));
+        if (cursor != null && !cursor.isBlank()) {
+            PageCursor after = PageCursor.decode(cursor);
+            query.addCriteria(after.afterDescending("savedAt", after.sortKeyAsDateTime()));
+        }
+        query.with(Sort.by(Sort.Order.desc("savedAt"), Sort.Order.desc("id"))).limit(pageSize + 1);
+
+        CursorPage<SavedPost> saved = CursorPage.of(mongoTemplate.find(query, SavedPost.class), pageSize,
+                savedPost -> PageCursor.of(savedPost.getSavedAt(), savedPost.getId()));
+        List<String> postIds = saved.items().stream().map(SavedPost::getPostId).collect(Collectors.toList());
+
+        Map<String, Post> postsById = postRepository.findAllById(postIds).stream()
+                .collect(Collectors.toMap(Post::getId, Function.identity()));
+        List<Post> posts = postIds.stream()
+                .map(postsById::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        authorHydrator.hydrate(posts);
+        return new CursorPage<>(posts, saved.nextCursor());
+    }
+
+    /**
+     * Returns the IDs of the posts a user saved most recently, newest first.
+     */
+    public List<String> getSavedPostIds(String userId, int limit) {
+        Query query = new Query(Criteria.where("userId").is(userId))
+                .with(Sort.by(Sort.Order.desc("savedAt"), Sort.Order.desc("id")))
+                .limit(limit);
+        query.fields().include("postId");
+        return mongoTemplate.find(query, SavedPost.class).stream()
+                .map(SavedPost::getPostId)
+                .collect(Collectors.toList());
+    }
 
-        post.getSavedBy().remove(userId);
-        return postRepository.save(post);
+    private Post updateSaveCount(String postId, Update update) {
+        Post post = mongoTemplate.findAndModify(new Query(Criteria.where("id").is(postId)), update.inc("version", 1),
+                FindAndModifyOptions.options().returnNew(true), Post.class);
+        if (post == null) {
+            throw new IllegalArgumentException("Post not found");
+        }
+        return post;
+    }
+
+    // Loads only the author of a post, for authorization checks and notifications
+    private Post getPostOwner(String postId) {
+        Query query = new Query(Criteria.where("id").is(postId));
+        query.fields().include("userId");
+        Post post = mongoTemplate.findOne(query, Post.class);
+        if (post == null) {
+            throw new IllegalArgumentException("Post not found");
+        }
+        return post;
     }
 
-    public List<Post> getSavedPosts(String userId) {
-        return postRepository.findBySavedByContaining(userId);
+    private PostComment getComment(String postId, String commentId) {
+        return postCommentRepository.findById(commentId)
+                .filter(comment -> postId.equals(comment.getPostId()))
+                .orElseThrow(() -> new IllegalArgumentException("Comment not found"));
+    }
+
+    private Post.Comment toPreview(PostComment comment) {
+        Post.Comment preview = new Post.Comment();
+        preview.setId(comment.getId());
+        preview.setUserId(comment.getUserId());
+        preview.setName(comment.getName());
+        preview.setText(comment.getText());
+        preview.setCreatedAt(comment.getCreatedAt());
+        return preview;
+    }
+
+    // Releases the post's media assets; each is deleted in the background once nothing else uses it
+    private void scheduleMediaDeletion(List<Post.Media> mediaList) {
+        for (Post.Media media : mediaList) {
+            String resourceType = media.getFileType() != null && media.getFileType().startsWith("video") ? "video" : "image";
+            mediaRegistry.release(media.getFileUrl(), extractPublicIdFromUrl(media.getFileUrl()), resourceType);
+        }
     }
 
     private String extractPublicIdFromUrl(String url) {
@@ -0,0 +1,146 @@
+package com.nexora.server.service.post;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.WriteModel;
+import jakarta.annotation.PreDestroy;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+/**
+ * Buffers post view and impression counts in memory and writes them to Mongo in batches.
+ * Reads only bump a striped {@link LongAdder}; every few seconds (and on shutdown) the counts
+ * recorded since the last flush are written with one unordered bulkWrite of $inc updates.
+ * The adders are never reset: each entry remembers how much of its total was already flushed,
+ * so a failed flush is simply retried by the next one. When only some writes of a flush fail,
+ * the others are marked flushed, so the retry does not count them twice. Idle entries are dropped after a flush;
+ * an increment racing with that removal can be lost, which is acceptable for these metrics.
+ */
+@Component
+public class PostStatsBuffer {
+    private static final Logger LOGGER = Logger.getLogger(PostStatsBuffer.class.getName());
+
+    private static final String POSTS_COLLECTION = "sposts";
+
+    private final MongoTemplate mongoTemplate;
+    private final Map<String, Counters> counters = new ConcurrentHashMap<>();
+
+    public PostStatsBuffer(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /**
+     * Counts one view of a post (its detail was opened).
+     */
+    public void recordView(String postId) {
+        countersOf(postId).views.increment();
+    }
+
+    /**
+     * Counts one impression of each post (it was shown in a feed or search page).
+     */
+    public void recordImpressions(Collection<String> postIds) {
+        for (String postId : postIds) {
+            countersOf(postId).impressions.increment();
+        }
+    }
+
+    /**
+     * Returns the views and impressions of a post that are not yet written to Mongo.
+     *
+     * @return a two-element array: pending views, pending impressions
+     */
+    public long[] pending(String postId) {
+        Counters entry = counters.get(postId);
+        if (entry == null) {
+            return new long[]{0, 0};
+        }
+        return new long[]{entry.views.sum() - entry.flushedViews, entry.impressions.sum() - entry.flushedImpressions};
+    }
+
+    /**
+     * Writes the counts recorded since the last flush. Entries with nothing pending are dropped
+     * so the buffer only holds recently seen posts.
+     */
+    @Scheduled(fixedDelayString = "${nexora.posts.stats.flush-ms:5000}")
+    public synchronized void flush() {
+        List<WriteModel<Document>> writes = new ArrayList<>();
+        List<Runnable> commits = new ArrayList<>();
+        for (Map.Entry<String, Counters> entry : counters.entrySet()) {
+            Counters entryCounters = entry.getValue();
+            long views = entryCounters.views.sum();
+            long impressions = entryCounters.impressions.sum();
+            long viewDelta = views - entryCounters.flushedViews;
+            long impressionDelta = impressions - entryCounters.flushedImpressions;
+
+            if (viewDelta == 0 && impressionDelta == 0) {
+                counters.remove(entry.getKey(), entryCounters);
+                continue;
+            }
+            if (!ObjectId.isValid(entry.getKey())) {
+                counters.remove(entry.getKey(), entryCounters);
+                continue;
+            }
+            writes.add(new UpdateOneModel<>(new Document("_id", new ObjectId(entry.getKey())),
+                    new Document("$inc", new Document("viewCount", viewDelta).append("impressionCount", impressionDelta))));
+            commits.add(() -> {
+                entryCounters.flushedViews = views;
+                entryCounters.flushedImpressions = impressions;
+            });
+        }
+        if (writes.isEmpty()) {
+            return;
+        }
+
+        try {
+            mongoTemplate.getCollection(POSTS_COLLECTION).bulkWrite(writes, new BulkWriteOptions().ordered(false));
+            commits.forEach(Runnable::run);
+            LOGGER.fine("Flushed view and impression counts of " + writes.size() + " posts");
+        } catch (MongoBulkWriteException e) {
+            // The unordered bulk applied every write but the failed ones
+            Set<Integer> failed = e.getWriteErrors().stream().map(BulkWriteError::getIndex).collect(Collectors.toSet());
+            for (int i = 0; i < commits.size(); i++) {
+                if (!failed.contains(i)) {
+                    commits.get(i).run();
+                }
+            }
+            LOGGER.warning("Failed to flush stats of " + failed.size() + " posts, will retry: " + e.getMessage());
+        } catch (Exception e) {
+            LOGGER.warning("Failed to flush post stats, will retry: " + e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+    }
+
+    private Counters countersOf(String postId) {
+        return counters.computeIfAbsent(postId, id -> new Counters());
+    }
+
+    /**
+     * Running totals for one post. The flushed fields are only touched by {@link #flush()}.
+     */
+    private static final class Counters {
+        private final LongAdder views = new LongAdder();
+        private final LongAdder impressions = new LongAdder();
+        private volatile long flushedViews;
+        private volatile long flushedImpressions;
+    }
+}
@@ -0,0 +1,185 @@
+package com.nexora.server.service.post;
+
+import com.nexora.server.model.CursorPage;
+import com.nexora.server.model.PageCursor;
+import com.nexora.server.model.post.Post;
+import com.nexora.server.model.post.PostSummary;
+import com.nexora.server.model.post.PostSummaryBatch;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.query.BasicQuery;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Reads feed pages and search results as {@link PostSummary} records.
+ * The projection leaves out the likes and savedBy arrays and only asks Mongo whether
+ * they contain the caller, so the payload no longer grows with a post's popularity.
+ */
+@Service
+public class PostSummaryService {
+
+    private static final int MAX_PAGE_SIZE = 100;
+    public static final int MAX_BATCH_SIZE = 100;
+
+    private static final List<String> SUMMARY_FIELDS = List.of(
+            "userId", "userName", "description", "media", "likeCount", "commentCount", "saveCount",
+            "recentComments", "createdAt", "hotScore");
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private PostAuthorHydrator authorHydrator;
+
+    @Autowired
+    private PostStatsBuffer postStatsBuffer;
+
+    /**
+     * Returns a page of post summaries in the given ranking.
+     *
+     * @param viewerId the caller's user ID, or null for anonymous callers
+     * @param hot      true to rank by hot score, false for newest first
+     * @param cursor   opaque cursor from a previous page, or null/blank for the first page
+     * @param limit    maximum number of posts to return
+     * @return the summaries and the cursor of the next page
+     */
+    public CursorPage<PostSummary> getSummaries(String viewerId, boolean hot, String cursor, int limit) {
+        int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        String sortField = hot ? "hotScore" : "createdAt";
+
+        Query query = new BasicQuery(new Document(), summaryFields(viewerId));
+        if (cursor != null && !cursor.isBlank()) {
+            PageCursor after = PageCursor.decode(cursor);
+            query.addCriteria(after.afterDescending(sortField, hot ? after.sortKeyAsDouble() : after.sortKeyAsDateTime()));
+        }
+        query.with(Sort.by(Sort.Order.desc(sortField), Sort.Order.desc("id"))).limit(pageSize + 1);
+
+        CursorPage<Post> page = CursorPage.of(mongoTemplate.find(query, Post.class), pageSize,
+                post -> PageCursor.of(hot ? post.getHotScore() : post.getCreatedAt(), post.getId()));
+        return toSummaries(page, viewerId);
+    }
+
+    /**
+     * Searches post descriptions and author names through the posts text index, most relevant first.
+     * Text scores cannot be used in a find filter, so the score is added as a field in an aggregation
+     * and the keyset cursor (score, _id) is applied after it.
+     *
+     * @param viewerId the caller's user ID, or null for anonymous callers
+     * @param text     the search terms
+     * @param cursor   opaque cursor from a previous page, or null/blank for the first page
+     * @param limit    maximum number of posts to return
+     * @return the matching summaries and the cursor of the next page
+     * @throws IllegalArgumentException if the search terms are blank or the cursor is invalid
+     */
+    public CursorPage<PostSummary> search(String viewerId, String text, String cursor, int limit) {
+        if (text == null || text.isBlank()) {
+            throw new IllegalArgumentException("Search query is required");
+        }
+        int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+
+        List<AggregationOperation> stages = new ArrayList<>();
+        stages.add(Aggregation.match(TextCriteria.forDefaultLanguage().matching(text)));
+        stages.add(context -> new Document("$addFields", new Document("score", new Document("$meta", "textScore"))));
+        if (cursor != null && !cursor.isBlank()) {
+            PageCursor after = PageCursor.decode(cursor);
+            stages.add(Aggregation.match(after.afterDescending("score", after.sortKeyAsDouble())));
+        }
+        stages.add(Aggregation.sort(Sort.by(Sort.Order.desc("score"), Sort.Order.desc("id"))));
+        stages.add(Aggregation.limit(pageSize + 1));
+        stages.add(context -> new Document("$project", summaryProjection(viewerId)));
+
+        List<Post> matches = mongoTemplate.aggregate(Aggregation.newAggregation(Post.class, stages), Post.class)
+                .getMappedResults();
+        CursorPage<Post> page = CursorPage.of(matches, pageSize, post -> PageCursor.of(post.getScore(), post.getId()));
+        return toSummaries(page, viewerId);
+    }
+
+    /**
+     * Fetches the summaries of several posts with one query, in the order they were asked for.
+     * IDs that do not match a post are reported as missing instead of failing the batch.
+     *
+     * @param viewerId the caller's user ID, or null for anonymous callers
+     * @param postIds  the post IDs; duplicates are allowed and answered once per occurrence
+     * @return the summaries and the missing IDs
+     * @throws IllegalArgumentException if no IDs or more than {@link #MAX_BATCH_SIZE} IDs are given
+     */
+    public PostSummaryBatch getSummariesByIds(String viewerId, List<String> postIds) {
+        if (postIds == null || postIds.isEmpty()) {
+            throw new IllegalArgumentException("At least one post ID is required");
+        }
+        if (postIds.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_BATCH_SIZE + " post IDs can be fetched at once");
+        }
+
+        Set<String> distinctIds = new LinkedHashSet<>(postIds);
+        Query query = new BasicQuery(new Document(), summaryFields(viewerId));
+        query.addCriteria(Criteria.where("id").in(distinctIds));
+        List<Post> posts = mongoTemplate.find(query, Post.class);
+        authorHydrator.hydrate(posts);
+        postStatsBuffer.recordImpressions(posts.stream().map(Post::getId).toList());
+
+        Map<String, PostSummary> byId = posts.stream()
+                .collect(Collectors.toMap(Post::getId, post -> PostSummary.of(post, viewerId)));
+        PostSummary[] items = new PostSummary[postIds.size()];
+        List<String> missing = new ArrayList<>();
+        for (int i = 0; i < postIds.size(); i++) {
+            items[i] = byId.get(postIds.get(i));
+            if (items[i] == null) {
+                missing.add(postIds.get(i));
+            }
+        }
+        return new PostSummaryBatch(Arrays.asList(items), missing);
+    }
+
+    // Hydrates authors, counts an impression of each post and converts the page to summaries
+    private CursorPage<PostSummary> toSummaries(CursorPage<Post> page, String viewerId) {
+        authorHydrator.hydrate(page.items());
+        postStatsBuffer.recordImpressions(page.items().stream().map(Post::getId).toList());
+        List<PostSummary> summaries = page.items().stream()
+                .map(post -> PostSummary.of(post, viewerId))
+                .collect(Collectors.toList());
+        return new CursorPage<>(summaries, page.nextCursor());
+    }
+
+    // Same shape as summaryFields, written with aggregation expressions for the $project stage
+    private Document summaryProjection(String viewerId) {
+        Document projection = new Document("score", 1);
+        SUMMARY_FIELDS.forEach(field -> projection.append(field, 1));
+        if (viewerId != null) {
+            projection.append("likes", onlyViewer("$likes", viewerId));
+            projection.append("savedBy", onlyViewer("$savedBy", viewerId));
+        }
+        return projection;
+    }
+
+    private Document onlyViewer(String arrayField, String viewerId) {
+        return new Document("$filter", new Document("input", new Document("$ifNull", List.of(arrayField, List.of())))
+                .append("cond", new Document("$eq", List.of("$$this", viewerId))));
+    }
+
+    // Includes the summary fields; likes and savedBy come back holding at most the caller's ID
+    Document summaryFields(String viewerId) {
+        Document fields = new Document();
+        SUMMARY_FIELDS.forEach(field -> fields.append(field, 1));
+        if (viewerId != null) {
+            fields.append("likes", new Document("$elemMatch", new Document("$eq", viewerId)));
+            fields.append("savedBy", new Document("$elemMatch", new Document("$eq", viewerId)));
+        }
+        return fields;
+    }
+}
@@ -0,0 +1,204 @@
+package com.nexora.server.service.post;
+
+import com.nexora.server.model.CursorPage;
+import com.nexora.server.model.PageCursor;
+import com.nexora.server.model.User;
+import com.nexora.server.model.post.Post;
+import com.nexora.server.model.post.Timeline;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains per-user home timelines.
+ * New posts are pushed into each follower's timeline when they are created (fan-out-on-write),
+ * except for accounts with very many followers, whose posts are merged in when a timeline is read.
+ */
+@Service
+public class TimelineService {
+
+    // Maximum number of entries kept in a single timeline document
+    static final int MAX_TIMELINE_ENTRIES = 500;
+
+    // Accounts with more followers than this are not fanned out on write
+    static final int FAN_OUT_FOLLOWER_LIMIT = 10_000;
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private PostAuthorHydrator authorHydrator;
+
+    /**
+     * Pushes a newly created post into the timelines of its author and the author's followers.
+     * Large accounts are skipped; their posts are read on demand in {@link #getHomeFeed}.
+     *
+     * @param post   the saved post
+     * @param author the author of the post
+     */
+    public void fanOut(Post post, User author) {
+        List<String> recipients = new ArrayList<>();
+        recipients.add(author.getId());
+        List<String> followers = author.getFollowers() != null ? author.getFollowers() : List.of();
+        if (followers.size() <= FAN_OUT_FOLLOWER_LIMIT) {
+            recipients.addAll(followers);
+        }
+
+        Timeline.Entry entry = new Timeline.Entry();
+        entry.setPostId(post.getId());
+        entry.setAuthorId(post.getUserId());
+        entry.setCreatedAt(post.getCreatedAt());
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Timeline.class);
+        for (String recipientId : recipients) {
+            Update update = new Update();
+            update.push("entries").atPosition(Update.Position.FIRST).slice(MAX_TIMELINE_ENTRIES).each(entry);
+            bulk.upsert(new Query(Criteria.where("userId").is(recipientId)), update);
+        }
+        bulk.execute();
+    }
+
+    /**
+     * Returns a page of the user's home feed, newest first.
+     * Reads the materialized timeline and merges in recent posts of followed large accounts.
+     * Posts deleted since they were fanned out are skipped, reading further entries until the page
+     * is full, and their entries are pruned from the timeline.
+     *
+     * @param userId the ID of the reader
+     * @param cursor opaque cursor from a previous page, or null/blank for the first page
+     * @param limit  maximum number of posts to return
+     * @return the posts and the cursor of the next page
+     */
+    public CursorPage<Post> getHomeFeed(String userId, String cursor, int limit) {
+        int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        PageCursor after = cursor != null && !cursor.isBlank() ? PageCursor.decode(cursor) : null;
+        Comparator<Timeline.Entry> newestFirst = Comparator
+                .comparing(Timeline.Entry::getCreatedAt, Comparator.nullsLast(Comparator.reverseOrder()))
+                .thenComparing(Timeline.Entry::getPostId, Comparator.reverseOrder());
+
+        Timeline timeline = mongoTemplate.findById(userId, Timeline.class);
+        List<Timeline.Entry> candidates = new ArrayList<>();
+        if (timeline != null) {
+            candidates.addAll(timeline.getEntries());
+        }
+        candidates.addAll(readLargeAccountPosts(userId, after, pageSize + 1));
+
+        Set<String> seenPostIds = new HashSet<>();
+        List<Timeline.Entry> ordered = candidates.stream()
+                .filter(entry -> after == null || isAfter(entry, after))
+                .sorted(newestFirst)
+                .filter(entry -> seenPostIds.add(entry.getPostId()))
+                .collect(Collectors.toList());
+
+        // Resolve entries in batches until pageSize + 1 live posts are found, so deleted posts
+        // do not end the feed early
+        List<Post> posts = new ArrayList<>();
+        List<String> danglingPostIds = new ArrayList<>();
+        int next = 0;
+        while (posts.size() <= pageSize && next < ordered.size()) {
+            List<Timeline.Entry> batch = ordered.subList(next, Math.min(ordered.size(), next + pageSize + 1 - posts.size()));
+            next += batch.size();
+            Map<String, Post> postsById = mongoTemplate.find(
+                            new Query(Criteria.where("id").in(batch.stream().map(Timeline.Entry::getPostId).toList())),
+                            Post.class).stream()
+                    .collect(Collectors.toMap(Post::getId, Function.identity()));
+            for (Timeline.Entry entry : batch) {
+                Post post = postsById.get(entry.getPostId());
+                if (post != null) {
+                    posts.add(post);
+                } else {
+                    danglingPostIds.add(entry.getPostId());
+                }
+            }
+        }
+        if (!danglingPostIds.isEmpty()) {
+            pruneEntries(userId, new Document("postId", new Document("$in", danglingPostIds)));
+        }
+
+        CursorPage<Post> result = CursorPage.of(posts, pageSize, post -> PageCursor.of(post.getCreatedAt(), post.getId()));
+        authorHydrator.hydrate(result.items());
+        return result;
+    }
+
+    /**
+     * Removes an unfollowed account's posts from the reader's timeline.
+     *
+     * @param userId   the reader
+     * @param authorId the account no longer followed
+     */
+    public void removeAuthor(String userId, String authorId) {
+        pruneEntries(userId, new Document("authorId", authorId));
+    }
+
+    // $pull of every entry matching the condition
+    private void pruneEntries(String userId, Document entryCondition) {
+        mongoTemplate.updateFirst(new Query(Criteria.where("userId").is(userId)),
+                new Update().pull("entries", entryCondition), Timeline.class);
+    }
+
+    /**
+     * Reads recent posts of the followed accounts that are too large to fan out on write.
+     */
+    private List<Timeline.Entry> readLargeAccountPosts(String userId, PageCursor after, int limit) {
+        Query readerQuery = new Query(Criteria.where("id").is(userId));
+        readerQuery.fields().include("following");
+        User reader = mongoTemplate.findOne(readerQuery, User.class);
+        if (reader == null) {
+            throw new IllegalArgumentException("User not found");
+        }
+        List<String> following = reader.getFollowing() != null ? reader.getFollowing() : List.of();
+        if (following.isEmpty()) {
+            return List.of();
+        }
+
+        // An element at index FAN_OUT_FOLLOWER_LIMIT exists only when the account has more followers than the limit
+        Query largeAccounts = new Query(Criteria.where("id").in(following)
+                .and("followers." + FAN_OUT_FOLLOWER_LIMIT).exists(true));
+        largeAccounts.fields().include("id");
+        List<String> largeAccountIds = mongoTemplate.find(largeAccounts, User.class).stream()
+                .map(User::getId)
+                .toList();
+        if (largeAccountIds.isEmpty()) {
+            return List.of();
+        }
+
+        Query posts = new Query(Criteria.where("userId").in(largeAccountIds));
+        if (after != null) {
+            posts.addCriteria(after.afterDescending("createdAt", after.sortKeyAsDateTime()));
+        }
+        posts.with(Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"))).limit(limit);
+        posts.fields().include("id", "userId", "createdAt");
+        return mongoTemplate.find(posts, Post.class).stream().map(post -> {
+            Timeline.Entry entry = new Timeline.Entry();
+            entry.setPostId(post.getId());
+            entry.setAuthorId(post.getUserId());
+            entry.setCreatedAt(post.getCreatedAt());
+            return entry;
+        }).toList();
+    }
+
+    private boolean isAfter(Timeline.Entry entry, PageCursor after) {
+        if (entry.getCreatedAt() == null) {
+            return false;
+        }
+        int byTime = entry.getCreatedAt().compareTo(after.sortKeyAsDateTime());
+        return byTime < 0 || (byTime == 0 && entry.getPostId().compareTo(after.getId()) < 0);
+    }
+}
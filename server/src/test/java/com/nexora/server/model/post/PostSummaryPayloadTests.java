@@ -0,0 +1,130 @@
+package com.nexora.server.model.post;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares the payload size of a feed page sent as full posts wrapped in link maps
+ * (the GET /api/posts format) against the same page sent as summaries. The serialization
+ * time comparison is a benchmark, run with mvn test -Pbenchmark.
+ */
+class PostSummaryPayloadTests {
+
+	private static final int POSTS = 100;
+	private static final int LIKES_PER_POST = 2_000;
+	private static final int SAVES_PER_POST = 300;
+	private static final int WARMUP_ROUNDS = 50;
+	private static final int MEASURED_ROUNDS = 200;
+
+	private final ObjectMapper objectMapper = JsonMapper.builder()
+			.findAndAddModules()
+			.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+			.build();
+
+	@Test
+	void summaryPageIsMuchSmaller() throws Exception {
+		List<Post> posts = samplePosts();
+		int fullBytes = objectMapper.writeValueAsBytes(fullPage(posts)).length;
+		int summaryBytes = objectMapper.writeValueAsBytes(summaryPage(posts)).length;
+		assertTrue(summaryBytes * 10 < fullBytes, "summary payload should be at least 10x smaller");
+	}
+
+	@Test
+	@Tag("benchmark")
+	void summaryPageSerializesFaster() throws Exception {
+		List<Post> posts = samplePosts();
+		double fullMicros = serializationMicros(fullPage(posts));
+		double summaryMicros = serializationMicros(summaryPage(posts));
+		assertTrue(summaryMicros < fullMicros,
+				"summary page took " + summaryMicros + " us, full page " + fullMicros + " us");
+	}
+
+	private double serializationMicros(Object page) throws Exception {
+		for (int i = 0; i < WARMUP_ROUNDS; i++) {
+			objectMapper.writeValueAsBytes(page);
+		}
+		long start = System.nanoTime();
+		for (int i = 0; i < MEASURED_ROUNDS; i++) {
+			objectMapper.writeValueAsBytes(page);
+		}
+		return (System.nanoTime() - start) / 1_000.0 / MEASURED_ROUNDS;
+	}
+
+	private List<Map<String, Object>> fullPage(List<Post> posts) {
+		return posts.stream().map(post -> {
+			Map<String, Object> postWithLinks = new HashMap<>();
+			postWithLinks.put("post", post);
+			postWithLinks.put("_links", links(post.getId()));
+			return postWithLinks;
+		}).collect(Collectors.toList());
+	}
+
+	private List<PostSummary> summaryPage(List<Post> posts) {
+		return posts.stream()
+				.map(post -> PostSummary.of(post, "user-7"))
+				.collect(Collectors.toList());
+	}
+
+	// Same shape as PostController's HATEOAS links
+	private List<Map<String, String>> links(String postId) {
+		return Arrays.asList(
+				Map.of("rel", "self", "href", "/api/posts/" + postId),
+				Map.of("rel", "comments", "href", "/api/posts/" + postId + "/comment"),
+				Map.of("rel", "like", "href", "/api/posts/" + postId + "/like"),
+				Map.of("rel", "save", "href", "/api/posts/" + postId + "/save"),
+				Map.of("rel", "all-posts", "href", "/api/posts"));
+	}
+
+	private List<Post> samplePosts() {
+		List<Post> posts = new ArrayList<>();
+		for (int i = 0; i < POSTS; i++) {
+			Post post = new Post();
+			post.setId(String.format("%024x", i));
+			post.setUserId("author-" + (i % 10));
+			post.setUserName("Author " + (i % 10));
+			post.setUserProfilePhotoUrl("https://res.cloudinary.com/demo/image/upload/profile_photos/author-" + (i % 10) + ".jpg");
+			post.setDescription("Post number " + i + " about a new skill I picked up this week.");
+			post.setCreatedAt(LocalDateTime.now().minusMinutes(i));
+			for (int m = 0; m < 2; m++) {
+				Post.Media media = new Post.Media();
+				media.setFileName("photo-" + m + ".jpg");
+				media.setFileUrl("https://res.cloudinary.com/demo/image/upload/v1/post-" + i + "-" + m + ".jpg");
+				media.setFileType("image/jpeg");
+				post.getMedia().add(media);
+			}
+			for (int l = 0; l < LIKES_PER_POST; l++) {
+				post.getLikes().add(String.format("%024x", 1_000_000 + l));
+			}
+			for (int s = 0; s < SAVES_PER_POST; s++) {
+				post.getSavedBy().add(String.format("%024x", 2_000_000 + s));
+			}
+			post.setLikeCount(LIKES_PER_POST);
+			post.setSaveCount(SAVES_PER_POST);
+			for (int c = 0; c < 3; c++) {
+				Post.Comment comment = new Post.Comment();
+				comment.setId("comment-" + i + "-" + c);
+				comment.setUserId("commenter-" + c);
+				comment.setName("Commenter " + c);
+				comment.setText("Nice work!");
+				comment.setCreatedAt(LocalDateTime.now().minusSeconds(c));
+				post.getRecentComments().add(comment);
+			}
+			post.setCommentCount(3);
+			posts.add(post);
+		}
+		return posts;
+	}
+}
@@ -0,0 +1,78 @@
+package com.nexora.server.repository.post;
+
+import com.nexora.server.model.post.Post;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class PostLikeConcurrencyTests {
+
+	private static final int TOGGLERS = 500;
+
+	@Autowired
+	private PostRepository postRepository;
+
+	private String postId;
+
+	@BeforeEach
+	void createPost() {
+		Post post = new Post();
+		post.setUserId("like-test-author");
+		post.setDescription("like concurrency test");
+		post.setCreatedAt(LocalDateTime.now());
+		postId = postRepository.save(post).getId();
+	}
+
+	@AfterEach
+	void deletePost() {
+		postRepository.deleteById(postId);
+	}
+
+	@Test
+	void parallelTogglesLoseNoLikes() throws Exception {
+		toggleInParallel();
+		Post liked = postRepository.findById(postId).orElseThrow();
+		assertEquals(TOGGLERS, liked.getLikeCount());
+		assertEquals(TOGGLERS, liked.getLikes().size());
+
+		toggleInParallel();
+		Post unliked = postRepository.findById(postId).orElseThrow();
+		assertEquals(0, unliked.getLikeCount());
+		assertTrue(unliked.getLikes().isEmpty());
+	}
+
+	private void toggleInParallel() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(64);
+		CountDownLatch start = new CountDownLatch(1);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int i = 0; i < TOGGLERS; i++) {
+				String userId = "like-test-user-" + i;
+				futures.add(executor.submit(() -> {
+					start.await();
+					return postRepository.toggleLike(postId, userId);
+				}));
+			}
+			start.countDown();
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+}
@@ -0,0 +1,65 @@
+package com.nexora.server.service;
+
+import com.nexora.server.model.Role;
+import com.nexora.server.model.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AuthorizationServiceTests {
+
+	private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	@Test
+	void repeatedChecksReadTheUserOnce() {
+		when(mongoTemplate.findOne(any(Query.class), eq(User.class))).thenReturn(userWithRole(Role.MODERATOR));
+		AuthorizationService authorization = new AuthorizationService(mongoTemplate, meterRegistry, 60, 100);
+
+		assertTrue(authorization.isAdminOrModerator("moderator"));
+		assertTrue(authorization.isAdminOrModerator("moderator"));
+		assertTrue(authorization.isAdminOrModerator("moderator"));
+
+		verify(mongoTemplate, times(1)).findOne(any(Query.class), eq(User.class));
+		assertEquals(2.0 / 3, meterRegistry.get("authorization.role.cache.hit.ratio").gauge().value(), 1e-9);
+	}
+
+	@Test
+	void invalidationShowsARoleChangeAtOnce() {
+		when(mongoTemplate.findOne(any(Query.class), eq(User.class)))
+				.thenReturn(userWithRole(Role.MODERATOR), userWithRole(Role.USER));
+		AuthorizationService authorization = new AuthorizationService(mongoTemplate, meterRegistry, 60, 100);
+
+		assertTrue(authorization.isAdminOrModerator("demoted"));
+		authorization.invalidate("demoted");
+		assertFalse(authorization.isAdminOrModerator("demoted"));
+	}
+
+	@Test
+	void cacheStaysWithinItsBound() {
+		when(mongoTemplate.findOne(any(Query.class), eq(User.class))).thenReturn(userWithRole(Role.USER));
+		AuthorizationService authorization = new AuthorizationService(mongoTemplate, meterRegistry, 60, 100);
+
+		for (int i = 0; i < 1_000; i++) {
+			authorization.roleOf("user-" + i);
+		}
+		assertTrue(meterRegistry.get("authorization.role.cache.size").gauge().value() <= 100);
+	}
+
+	private static User userWithRole(Role role) {
+		User user = new User();
+		user.setRole(role);
+		return user;
+	}
+}
@@ -0,0 +1,140 @@
+package com.nexora.server.service.forum;
+
+import com.nexora.server.model.CursorPage;
+import com.nexora.server.model.forum.ForumComment;
+import com.nexora.server.model.forum.ForumCommentThread;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@SpringBootTest
+class ForumCommentThreadsTests {
+
+	private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 12, 0);
+	private static final int[] SCORES = {3, 1, 3, 0, 1};
+
+	@Autowired
+	private ForumCommentService commentService;
+
+	@Autowired
+	private MongoTemplate mongoTemplate;
+
+	private final String questionId = new ObjectId().toHexString();
+	// Top-level comments, oldest first
+	private final List<ForumComment> comments = new ArrayList<>();
+	// Replies to the oldest comment, oldest first
+	private final List<ForumComment> replies = new ArrayList<>();
+
+	@BeforeEach
+	void createThreads() {
+		for (int i = 0; i < SCORES.length; i++) {
+			comments.add(comment(null, i, SCORES[i]));
+		}
+		for (int i = 0; i < 4; i++) {
+			replies.add(comment(comments.get(0).getId(), 10 + i, 0));
+		}
+		comment(replies.get(0).getId(), 20, 0);
+		comment(replies.get(0).getId(), 21, 0);
+		comment(comments.get(1).getId(), 30, 0);
+	}
+
+	@AfterEach
+	void deleteThreads() {
+		mongoTemplate.remove(new Query(Criteria.where("questionId").is(questionId)), ForumComment.class);
+	}
+
+	@Test
+	void newestPagesWalkBackInTime() {
+		assertEquals(ids(comments.get(4), comments.get(3), comments.get(2), comments.get(1), comments.get(0)),
+				allPages(cursor -> commentService.getCommentThreads(questionId, "newest", cursor, 2, 0)));
+	}
+
+	@Test
+	void oldestPagesWalkForwardInTime() {
+		assertEquals(ids(comments.toArray(ForumComment[]::new)),
+				allPages(cursor -> commentService.getCommentThreads(questionId, "oldest", cursor, 2, 0)));
+	}
+
+	@Test
+	void topPagesFollowScoreThenId() {
+		List<ForumComment> expected = new ArrayList<>(comments);
+		expected.sort(Comparator.comparingInt(ForumComment::getScore).thenComparing(ForumComment::getId).reversed());
+		assertEquals(ids(expected.toArray(ForumComment[]::new)),
+				allPages(cursor -> commentService.getCommentThreads(questionId, "top", cursor, 2, 0)));
+	}
+
+	@Test
+	void threadsCarryReplyCountsAndOldestReplies() {
+		List<ForumCommentThread> threads = commentService.getCommentThreads(questionId, "oldest", null, 5, 2).items();
+
+		ForumCommentThread first = threads.get(0);
+		assertEquals(4, first.replyCount());
+		assertEquals(ids(replies.get(0), replies.get(1)), first.replies().stream().map(reply -> reply.comment().getId()).toList());
+		assertEquals(2, first.replies().get(0).replyCount());
+		assertEquals(0, first.replies().get(1).replyCount());
+		assertEquals(1, threads.get(1).replyCount());
+		assertEquals(1, threads.get(1).replies().size());
+		assertEquals(0, threads.get(2).replyCount());
+		assertEquals(List.of(), threads.get(2).replies());
+
+		// No previews asked, counts still given
+		ForumCommentThread withoutPreview = commentService.getCommentThreads(questionId, "oldest", null, 1, 0).items().get(0);
+		assertEquals(4, withoutPreview.replyCount());
+		assertEquals(List.of(), withoutPreview.replies());
+	}
+
+	@Test
+	void repliesPageOldestFirst() {
+		String parentId = comments.get(0).getId();
+		CursorPage<ForumCommentThread> page = commentService.getReplies(parentId, null, 3);
+		assertEquals(ids(replies.get(0), replies.get(1), replies.get(2)), page.items().stream().map(reply -> reply.comment().getId()).toList());
+		assertEquals(2, page.items().get(0).replyCount());
+
+		CursorPage<ForumCommentThread> next = commentService.getReplies(parentId, page.nextCursor(), 3);
+		assertEquals(ids(replies.get(3)), next.items().stream().map(reply -> reply.comment().getId()).toList());
+		assertNull(next.nextCursor());
+
+		assertNull(commentService.getReplies(new ObjectId().toHexString(), null, 3));
+	}
+
+	private List<String> allPages(Function<String, CursorPage<ForumCommentThread>> fetch) {
+		List<String> ids = new ArrayList<>();
+		String cursor = null;
+		do {
+			CursorPage<ForumCommentThread> page = fetch.apply(cursor);
+			page.items().forEach(thread -> ids.add(thread.comment().getId()));
+			cursor = page.nextCursor();
+		} while (cursor != null);
+		return ids;
+	}
+
+	private ForumComment comment(String parentId, int minutes, int score) {
+		ForumComment comment = new ForumComment();
+		comment.setQuestionId(questionId);
+		comment.setParentCommentId(parentId);
+		comment.setAuthorId("thread-test-author");
+		comment.setContent("thread test comment " + minutes);
+		comment.setScore(score);
+		comment.setCreatedAt(START.plusMinutes(minutes));
+		return mongoTemplate.insert(comment);
+	}
+
+	private static List<String> ids(ForumComment... comments) {
+		return List.of(comments).stream().map(ForumComment::getId).toList();
+	}
+}
@@ -0,0 +1,109 @@
+package com.nexora.server.service.forum;
+
+import com.nexora.server.model.forum.ForumQuestion;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks ranking, incremental updates and highlighting of the forum search index. The latency check
+ * on a synthetic forum of 50,000 questions is a benchmark, run with mvn test -Pbenchmark.
+ */
+class ForumSearchIndexTests {
+
+	private static final int QUESTIONS = 50_000;
+	private static final int QUERIES = 2_000;
+
+	@Test
+	void titleMatchesRankFirstAndStemsMatch() {
+		ForumSearchIndex index = new ForumSearchIndex(null);
+		index.index(question("1", "Configuring Spring Security", "The filter chain rejects my requests.", "spring"));
+		index.index(question("2", "Mongo indexes", "After I configured Spring Security the queries got slow.", "mongo"));
+		index.index(question("3", "Unrelated", "Nothing to see here.", "misc"));
+
+		List<String> ids = index.searchIds("configure security", 10);
+		assertEquals(List.of("1", "2"), ids);
+		assertEquals(List.of("2"), index.searchIds("configure mongo", 10));
+		assertTrue(index.searchIds("the", 10).isEmpty());
+	}
+
+	@Test
+	void updatesAndDeletesAreVisibleImmediately() {
+		ForumSearchIndex index = new ForumSearchIndex(null);
+		index.index(question("1", "Docker networking", "Containers cannot reach each other.", "docker"));
+		assertEquals(List.of("1"), index.searchIds("docker", 10));
+
+		index.index(question("1", "Kubernetes networking", "Pods cannot reach each other.", "kubernetes"));
+		assertTrue(index.searchIds("docker", 10).isEmpty());
+		assertEquals(List.of("1"), index.searchIds("pods", 10));
+
+		index.remove("1");
+		assertTrue(index.searchIds("pods", 10).isEmpty());
+	}
+
+	@Test
+	void hitsAreEscapedAndHighlighted() {
+		ForumSearchIndex index = new ForumSearchIndex(null);
+		index.index(question("1", "Render <b>tags</b> safely", "Escaping tags in React & Vue.", "react"));
+
+		ForumSearchIndex.SearchHit hit = index.search("tag", 1).get(0);
+		assertEquals("Render &lt;b&gt;<mark>tags</mark>&lt;/b&gt; safely", hit.title());
+		assertEquals("Escaping <mark>tags</mark> in React &amp; Vue.", hit.snippet());
+	}
+
+	@Test
+	@Tag("benchmark")
+	void topTenQueriesTakeSingleDigitMilliseconds() {
+		String[] vocabulary = new String[5_000];
+		for (int i = 0; i < vocabulary.length; i++) {
+			vocabulary[i] = "word" + Integer.toString(i, 26).replace('0', 'q');
+		}
+		Random random = new Random(42);
+		ForumSearchIndex index = new ForumSearchIndex(null);
+		for (int i = 0; i < QUESTIONS; i++) {
+			index.index(question(String.valueOf(i), text(vocabulary, random, 8), text(vocabulary, random, 80),
+					vocabulary[skewed(random, vocabulary.length)]));
+		}
+
+		String[] queries = new String[QUERIES];
+		for (int i = 0; i < QUERIES; i++) {
+			queries[i] = text(vocabulary, random, 1 + random.nextInt(2));
+		}
+		for (int i = 0; i < 200; i++) {
+			index.search(queries[i], 10);
+		}
+		long start = System.nanoTime();
+		for (String query : queries) {
+			index.search(query, 10);
+		}
+		double averageMillis = (System.nanoTime() - start) / 1_000_000.0 / QUERIES;
+		assertTrue(averageMillis < 10, "average query took " + averageMillis + " ms");
+	}
+
+	// Zipf-like pick, so a few words are common and most are rare, as in real text
+	private static int skewed(Random random, int size) {
+		return (int) Math.min(size - 1, Math.floor(Math.pow(size, random.nextDouble())) - 1);
+	}
+
+	private static String text(String[] vocabulary, Random random, int words) {
+		StringBuilder builder = new StringBuilder();
+		for (int i = 0; i < words; i++) {
+			builder.append(vocabulary[skewed(random, vocabulary.length)]).append(' ');
+		}
+		return builder.toString();
+	}
+
+	private static ForumQuestion question(String id, String title, String description, String tag) {
+		ForumQuestion question = new ForumQuestion();
+		question.setId(id);
+		question.setTitle(title);
+		question.setDescription(description);
+		question.setTags(List.of(tag));
+		return question;
+	}
+}
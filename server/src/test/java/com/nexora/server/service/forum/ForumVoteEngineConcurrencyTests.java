@@ -0,0 +1,131 @@
+package com.nexora.server.service.forum;
+
+import com.nexora.server.model.forum.ForumQuestion;
+import com.nexora.server.repository.forum.ForumQuestionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Drives many concurrent votes at one question and checks that the voter arrays, the tallies and
+ * the reported changes agree afterwards. The throughput check under contention is a benchmark,
+ * run with mvn test -Pbenchmark.
+ */
+@SpringBootTest
+class ForumVoteEngineConcurrencyTests {
+
+	private static final int VOTES = 400;
+	private static final int BENCHMARK_VOTES = 4_000;
+	// Few enough voters that each casts several votes and some of them race each other
+	private static final int BENCHMARK_VOTERS = 500;
+
+	@Autowired
+	private ForumVoteEngine voteEngine;
+
+	@Autowired
+	private ForumQuestionRepository questionRepository;
+
+	private String questionId;
+
+	@BeforeEach
+	void createQuestion() {
+		ForumQuestion question = new ForumQuestion();
+		question.setTitle("vote concurrency test");
+		question.setAuthorId("vote-test-author");
+		question.setUpvoteUserIds(new ArrayList<>());
+		question.setDownvoteUserIds(new ArrayList<>());
+		question.setCreatedAt(LocalDateTime.now());
+		questionId = questionRepository.save(question).getId();
+	}
+
+	@AfterEach
+	void deleteQuestion() {
+		questionRepository.deleteById(questionId);
+	}
+
+	@Test
+	void votesByManyUsersKeepTalliesInStep() throws Exception {
+		Map<ForumVoteEngine.Change, Integer> changes = voteConcurrently(VOTES, i -> "vote-test-user-" + i, i -> ForumVoteEngine.Direction.UP);
+		assertEquals(Map.of(ForumVoteEngine.Change.ADDED, VOTES), changes);
+		assertTallies(VOTES, 0);
+
+		// Even voters switch to a downvote while odd voters take their upvote back
+		changes = voteConcurrently(VOTES, i -> "vote-test-user-" + i,
+				i -> i % 2 == 0 ? ForumVoteEngine.Direction.DOWN : ForumVoteEngine.Direction.UP);
+		assertEquals(Map.of(ForumVoteEngine.Change.SWITCHED, VOTES / 2, ForumVoteEngine.Change.REMOVED, VOTES / 2), changes);
+		assertTallies(0, VOTES / 2);
+	}
+
+	@Test
+	void oneUserVotingFromManyThreadsAlwaysApplies() throws Exception {
+		// Every vote applies, so the user's upvote is added and removed in turn
+		Map<ForumVoteEngine.Change, Integer> changes = voteConcurrently(VOTES, i -> "vote-test-toggler", i -> ForumVoteEngine.Direction.UP);
+		assertEquals(Map.of(ForumVoteEngine.Change.ADDED, VOTES / 2, ForumVoteEngine.Change.REMOVED, VOTES / 2), changes);
+		assertTallies(0, 0);
+	}
+
+	@Test
+	@Tag("benchmark")
+	void contendedVotesKeepThroughput() throws Exception {
+		// Warm up the connection pool and the JIT
+		voteConcurrently(VOTES, i -> "vote-bench-warmup-" + i, i -> ForumVoteEngine.Direction.UP);
+
+		long start = System.nanoTime();
+		Map<ForumVoteEngine.Change, Integer> changes = voteConcurrently(BENCHMARK_VOTES,
+				i -> "vote-bench-user-" + i % BENCHMARK_VOTERS,
+				i -> i % 3 == 0 ? ForumVoteEngine.Direction.DOWN : ForumVoteEngine.Direction.UP);
+		double votesPerSecond = BENCHMARK_VOTES / ((System.nanoTime() - start) / 1_000_000_000.0);
+
+		assertEquals(BENCHMARK_VOTES, changes.values().stream().mapToInt(Integer::intValue).sum());
+		assertTrue(votesPerSecond > 500, "votes per second: " + votesPerSecond);
+	}
+
+	private void assertTallies(int upvotes, int downvotes) {
+		ForumQuestion question = questionRepository.findById(questionId).orElseThrow();
+		assertEquals(upvotes, question.getUpvoteUserIds().size());
+		assertEquals(downvotes, question.getDownvoteUserIds().size());
+		assertEquals(upvotes, question.getUpvoteCount());
+		assertEquals(downvotes, question.getDownvoteCount());
+		assertEquals(upvotes - downvotes, question.getScore());
+	}
+
+	// Casts the votes from a pool of threads and counts the changes the engine reported
+	private Map<ForumVoteEngine.Change, Integer> voteConcurrently(int count, IntFunction<String> voter,
+			IntFunction<ForumVoteEngine.Direction> direction) throws Exception {
+		List<Callable<ForumVoteEngine.VoteOutcome<ForumQuestion>>> votes = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			int index = i;
+			votes.add(() -> voteEngine.vote(ForumQuestion.class, questionId, voter.apply(index), direction.apply(index)));
+		}
+		ExecutorService executor = Executors.newFixedThreadPool(32);
+		try {
+			Map<ForumVoteEngine.Change, Integer> changes = new EnumMap<>(ForumVoteEngine.Change.class);
+			for (Future<ForumVoteEngine.VoteOutcome<ForumQuestion>> future : executor.invokeAll(votes)) {
+				ForumVoteEngine.VoteOutcome<ForumQuestion> outcome = future.get();
+				assertNotNull(outcome);
+				changes.merge(outcome.change(), 1, Integer::sum);
+			}
+			return changes;
+		} finally {
+			executor.shutdown();
+		}
+	}
+}
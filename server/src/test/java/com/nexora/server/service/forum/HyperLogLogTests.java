@@ -0,0 +1,96 @@
+package com.nexora.server.service.forum;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HyperLogLogTests {
+
+	@Test
+	void estimateStaysWithinErrorBound() {
+		// About three standard errors of a 2^11-register sketch
+		double tolerance = 0.07;
+		HyperLogLog sketch = new HyperLogLog();
+		int added = 0;
+		for (int cardinality : new int[]{10, 100, 1_000, 10_000, 100_000, 1_000_000}) {
+			while (added < cardinality) {
+				sketch.add("viewer-" + added++);
+			}
+			long estimate = sketch.estimate();
+			assertTrue(Math.abs(estimate - cardinality) <= Math.max(1, cardinality * tolerance),
+					"estimated " + estimate + " for " + cardinality);
+		}
+	}
+
+	@Test
+	void repeatedValuesDoNotChangeTheSketch() {
+		HyperLogLog sketch = new HyperLogLog();
+		for (int i = 0; i < 1_000; i++) {
+			sketch.add("viewer-" + i);
+		}
+		byte[] before = sketch.toBytes();
+		for (int i = 0; i < 1_000; i++) {
+			assertFalse(sketch.add("viewer-" + i));
+		}
+		assertArrayEquals(before, sketch.toBytes());
+	}
+
+	@Test
+	void mergeIsIdempotentAndOrderIndependent() {
+		HyperLogLog first = new HyperLogLog();
+		HyperLogLog second = new HyperLogLog();
+		HyperLogLog union = new HyperLogLog();
+		for (int i = 0; i < 5_000; i++) {
+			first.add("viewer-" + i);
+			union.add("viewer-" + i);
+		}
+		for (int i = 2_500; i < 10_000; i++) {
+			second.add("viewer-" + i);
+			union.add("viewer-" + i);
+		}
+
+		HyperLogLog firstThenSecond = new HyperLogLog();
+		firstThenSecond.merge(first.toBytes());
+		firstThenSecond.merge(second.toBytes());
+		HyperLogLog secondThenFirst = new HyperLogLog();
+		secondThenFirst.merge(second.toBytes());
+		secondThenFirst.merge(first.toBytes());
+		assertArrayEquals(union.toBytes(), firstThenSecond.toBytes());
+		assertArrayEquals(union.toBytes(), secondThenFirst.toBytes());
+
+		// Merging the same sketch again, or the sketch into itself, changes nothing
+		assertFalse(firstThenSecond.merge(second.toBytes()));
+		assertFalse(firstThenSecond.merge(firstThenSecond.toBytes()));
+		assertArrayEquals(union.toBytes(), firstThenSecond.toBytes());
+	}
+
+	@Test
+	void bytesRoundTrip() {
+		HyperLogLog sketch = new HyperLogLog();
+		for (int i = 0; i < 20_000; i++) {
+			sketch.add("viewer-" + i);
+		}
+		byte[] stored = sketch.toBytes();
+		assertEquals(HyperLogLog.REGISTER_COUNT, stored.length);
+
+		HyperLogLog restored = new HyperLogLog();
+		assertTrue(restored.merge(stored));
+		assertArrayEquals(stored, restored.toBytes());
+		assertEquals(sketch.estimate(), restored.estimate());
+
+		// toBytes returns a copy
+		stored[0] = 100;
+		assertNotEquals(stored[0], sketch.toBytes()[0]);
+	}
+
+	@Test
+	void sketchOfAnotherPrecisionIsRejected() {
+		HyperLogLog sketch = new HyperLogLog();
+		assertThrows(IllegalArgumentException.class, () -> sketch.merge(new byte[HyperLogLog.REGISTER_COUNT / 2]));
+	}
+}
@@ -0,0 +1,153 @@
+package com.nexora.server.service.media;
+
+import com.nexora.server.model.MediaDeletion;
+import com.nexora.server.repository.MediaDeletionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+		"nexora.media.backend=fake",
+		"nexora.media.cleanup.interval-ms=3600000"
+})
+class MediaCleanupWorkerTests {
+
+	// Older than any real entry, so the test entries are always claimed first
+	private static final LocalDateTime LONG_AGO = LocalDateTime.of(2000, 1, 1, 0, 0);
+
+	@Autowired
+	private MediaCleanupWorker worker;
+
+	@Autowired
+	private FakeMediaStore mediaStore;
+
+	@Autowired
+	private MediaDeletionRepository mediaDeletionRepository;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	private final List<String> created = new ArrayList<>();
+
+	@AfterEach
+	void deleteEntries() {
+		mediaStore.failNextBatches(0);
+		mediaDeletionRepository.deleteAllById(created);
+	}
+
+	@Test
+	void drainsInBatches() {
+		List<MediaDeletion> deletions = enqueue(MediaCleanupWorker.BATCH_SIZE + 50, 0);
+
+		worker.drain();
+		assertEquals(MediaCleanupWorker.BATCH_SIZE, deletedOf(deletions));
+
+		worker.drain();
+		assertEquals(deletions.size(), deletedOf(deletions));
+		assertEquals(0, mediaDeletionRepository.findAllById(created).size());
+	}
+
+	@Test
+	void failedBatchIsRetriedWithBackoff() {
+		List<MediaDeletion> deletions = enqueue(3, 0);
+		mediaStore.failNextBatches(1);
+
+		worker.drain();
+		assertEquals(0, deletedOf(deletions));
+		for (MediaDeletion deletion : mediaDeletionRepository.findAllById(created)) {
+			assertEquals(MediaDeletion.Status.PENDING, deletion.getStatus());
+			assertEquals(1, deletion.getAttempts());
+			assertEquals("Injected media backend failure", deletion.getLastError());
+			assertTrue(deletion.getNextAttemptAt().isAfter(LocalDateTime.now()));
+		}
+
+		// Make them due again instead of waiting out the backoff
+		for (MediaDeletion deletion : mediaDeletionRepository.findAllById(created)) {
+			deletion.setNextAttemptAt(LONG_AGO);
+			mediaDeletionRepository.save(deletion);
+		}
+		worker.drain();
+		assertEquals(deletions.size(), deletedOf(deletions));
+	}
+
+	@Test
+	void lastFailedAttemptIsDeadLettered() {
+		List<MediaDeletion> deletions = enqueue(2, MediaCleanupWorker.MAX_ATTEMPTS - 1);
+		mediaStore.failNextBatches(1);
+
+		worker.drain();
+		assertEquals(0, deletedOf(deletions));
+		for (MediaDeletion deletion : mediaDeletionRepository.findAllById(created)) {
+			assertEquals(MediaDeletion.Status.DEAD, deletion.getStatus());
+			assertEquals(MediaCleanupWorker.MAX_ATTEMPTS, deletion.getAttempts());
+		}
+
+		worker.drain();
+		assertEquals(0, deletedOf(deletions));
+	}
+
+	@Test
+	void concurrentRunsDeleteEachEntryOnce() throws Exception {
+		List<MediaDeletion> deletions = enqueue(MediaCleanupWorker.BATCH_SIZE, 0);
+		double deletedBefore = meterRegistry.counter("media.cleanup.deleted").count();
+
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		CountDownLatch start = new CountDownLatch(1);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int i = 0; i < 8; i++) {
+				futures.add(executor.submit(() -> {
+					start.await();
+					worker.drain();
+					return null;
+				}));
+			}
+			start.countDown();
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} finally {
+			executor.shutdown();
+		}
+
+		assertEquals(deletions.size(), deletedOf(deletions));
+		assertEquals(deletions.size(), meterRegistry.counter("media.cleanup.deleted").count() - deletedBefore);
+	}
+
+	private List<MediaDeletion> enqueue(int count, int attempts) {
+		List<MediaDeletion> deletions = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			MediaDeletion deletion = new MediaDeletion();
+			deletion.setPublicId("cleanup-test-" + UUID.randomUUID());
+			deletion.setResourceType(i % 2 == 0 ? "image" : "video");
+			deletion.setStatus(MediaDeletion.Status.PENDING);
+			deletion.setAttempts(attempts);
+			deletion.setNextAttemptAt(LONG_AGO);
+			deletion.setCreatedAt(LocalDateTime.now());
+			deletions.add(deletion);
+		}
+		deletions = mediaDeletionRepository.saveAll(deletions);
+		deletions.forEach(deletion -> created.add(deletion.getId()));
+		return deletions;
+	}
+
+	private long deletedOf(List<MediaDeletion> deletions) {
+		return deletions.stream()
+				.filter(deletion -> mediaStore.getDeleted().contains(deletion.getResourceType() + "/" + deletion.getPublicId()))
+				.count();
+	}
+}
@@ -0,0 +1,95 @@
+package com.nexora.server.service.media;
+
+import com.nexora.server.service.post.PostMediaUploadPipeline;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class VideoDurationProbeTests {
+
+	@Test
+	void readsDurationOfShortMp4() throws IOException {
+		assertEquals(10.0, probe(fixture("short.mp4")), 1e-9);
+	}
+
+	@Test
+	void readsDurationWhenMoovFollowsMediaData() throws IOException {
+		assertEquals(120.0, probe(fixture("long.mp4")), 1e-9);
+	}
+
+	@Test
+	void readsDurationOfWebm() throws IOException {
+		assertEquals(12.5, probe(fixture("short.webm")), 1e-9);
+	}
+
+	@Test
+	void longMp4IsRejectedBeforeUpload() throws IOException {
+		MediaRegistry mediaRegistry = mock(MediaRegistry.class);
+		PostMediaUploadPipeline pipeline = new PostMediaUploadPipeline(mediaRegistry, new SimpleMeterRegistry(), 1);
+		MockMultipartFile video = new MockMultipartFile("files", "long.mp4", "video/mp4", fixture("long.mp4"));
+
+		IllegalArgumentException error = assertThrows(IllegalArgumentException.class, () -> pipeline.upload(List.of(video)));
+		assertEquals("Videos must be 30 seconds or less.", error.getMessage());
+		verifyNoInteractions(mediaRegistry);
+	}
+
+	@Test
+	void truncatedFilesFailSafely() throws IOException {
+		for (String name : List.of("short.mp4", "long.mp4", "short.webm")) {
+			byte[] video = fixture(name);
+			Double duration = probe(video);
+			// Cut at every length, including inside box and element headers
+			for (int length = 0; length < video.length; length++) {
+				byte[] truncated = Arrays.copyOf(video, length);
+				try {
+					// Files cut after the duration still report it
+					assertEquals(duration, probe(truncated), name + " cut at " + length);
+				} catch (IllegalArgumentException e) {
+					// Rejected as malformed
+				}
+			}
+			assertThrows(IllegalArgumentException.class, () -> probe(Arrays.copyOf(video, 40)), name);
+		}
+	}
+
+	@Test
+	void garbageFailsSafely() throws IOException {
+		Random random = new Random(42);
+		for (int i = 0; i < 1000; i++) {
+			byte[] garbage = new byte[random.nextInt(4096) + 8];
+			random.nextBytes(garbage);
+			if (i % 2 == 0) {
+				// Look like MP4 or WebM so the container parsers see the random bytes
+				byte[] magic = i % 4 == 0 ? new byte[]{0, 0, 0, 24, 'f', 't', 'y', 'p'} : new byte[]{0x1A, 0x45, (byte) 0xDF, (byte) 0xA3};
+				System.arraycopy(magic, 0, garbage, 0, magic.length);
+			}
+			try {
+				probe(garbage);
+			} catch (IllegalArgumentException e) {
+				// Rejected as malformed, as expected for most inputs
+			}
+		}
+	}
+
+	private static Double probe(byte[] video) throws IOException {
+		return VideoDurationProbe.durationSeconds(new ByteArrayInputStream(video));
+	}
+
+	private static byte[] fixture(String name) throws IOException {
+		try (InputStream in = VideoDurationProbeTests.class.getResourceAsStream("/media/" + name)) {
+			return in.readAllBytes();
+		}
+	}
+}
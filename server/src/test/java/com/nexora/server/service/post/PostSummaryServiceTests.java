@@ -0,0 +1,96 @@
+package com.nexora.server.service.post;
+
+import com.nexora.server.model.post.Post;
+import com.nexora.server.model.post.PostSummary;
+import com.nexora.server.repository.post.PostRepository;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.BasicQuery;
+import org.springframework.data.mongodb.core.query.Criteria;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class PostSummaryServiceTests {
+
+	private static final String VIEWER = "summary-test-viewer";
+
+	@Autowired
+	private PostSummaryService postSummaryService;
+
+	@Autowired
+	private PostRepository postRepository;
+
+	@Autowired
+	private MongoTemplate mongoTemplate;
+
+	private String postId;
+
+	@BeforeEach
+	void createPost() {
+		Post post = new Post();
+		post.setUserId("summary-test-author");
+		post.setDescription("summary projection test");
+		post.setCreatedAt(LocalDateTime.now());
+		for (int i = 0; i < 1_000; i++) {
+			post.getLikes().add("summary-test-liker-" + i);
+		}
+		post.getLikes().add(VIEWER);
+		post.getSavedBy().add("summary-test-saver");
+		post.setLikeCount(post.getLikes().size());
+		post.setSaveCount(1);
+		postId = postRepository.save(post).getId();
+	}
+
+	@AfterEach
+	void deletePost() {
+		postRepository.deleteById(postId);
+	}
+
+	@Test
+	void projectionKeepsOnlyTheViewerInLikesAndSavedBy() {
+		Post projected = findProjected(VIEWER);
+		assertEquals(List.of(VIEWER), projected.getLikes());
+		assertTrue(projected.getSavedBy() == null || projected.getSavedBy().isEmpty());
+		assertEquals(1_001, projected.getLikeCount());
+		assertEquals("summary projection test", projected.getDescription());
+
+		Post stranger = findProjected("summary-test-stranger");
+		assertTrue(stranger.getLikes() == null || stranger.getLikes().isEmpty());
+	}
+
+	@Test
+	void anonymousProjectionLeavesOutLikesAndSavedBy() {
+		Post projected = findProjected(null);
+		assertTrue(projected.getLikes() == null || projected.getLikes().isEmpty());
+		assertTrue(projected.getSavedBy() == null || projected.getSavedBy().isEmpty());
+		assertEquals(1_001, projected.getLikeCount());
+	}
+
+	@Test
+	void summariesCarryTheViewerFlags() {
+		PostSummary viewer = postSummaryService.getSummariesByIds(VIEWER, List.of(postId)).items().get(0);
+		assertTrue(viewer.liked());
+		assertFalse(viewer.saved());
+
+		PostSummary saver = postSummaryService.getSummariesByIds("summary-test-saver", List.of(postId)).items().get(0);
+		assertFalse(saver.liked());
+		assertTrue(saver.saved());
+	}
+
+	private Post findProjected(String viewerId) {
+		BasicQuery query = new BasicQuery(new Document(), postSummaryService.summaryFields(viewerId));
+		query.addCriteria(Criteria.where("id").is(postId));
+		return mongoTemplate.findOne(query, Post.class);
+	}
+}